@@ -1,5 +1,11 @@
 package com.coursemanagement.config;
 
+import com.coursemanagement.filter.IdempotencyFilter;
+import com.coursemanagement.filter.JwtAuthenticationFilter;
+import com.coursemanagement.filter.RateLimitFilter;
+import com.coursemanagement.service.IdempotencyService;
+import com.coursemanagement.util.JwtClaimsCache;
+import com.coursemanagement.util.RateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,14 +19,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtClaimsCache jwtClaimsCache,
+                                                   RateLimiter rateLimiter, IdempotencyService idempotencyService) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configure(http))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtClaimsCache), UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new IdempotencyFilter(idempotencyService), JwtAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimiter), IdempotencyFilter.class)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**").permitAll()
-                .anyRequest().permitAll() // Tạm thời cho phép tất cả, sẽ thêm JWT filter sau
+                .requestMatchers("/auth/**").permitAll()
+                .anyRequest().permitAll() // Tạm thời cho phép tất cả, JWT filter đã gắn thông tin người dùng vào SecurityContext
             );
         
         return http.build();
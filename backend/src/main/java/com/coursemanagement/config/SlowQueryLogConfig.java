@@ -0,0 +1,46 @@
+package com.coursemanagement.config;
+
+import com.coursemanagement.util.SlowQueryInterceptor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Gắn SlowQueryInterceptor vào proxy của mọi Spring Data repository.
+ * Thời gian từng phương thức repository được Actuator xuất qua metric spring.data.repository.invocations.
+ */
+@Configuration
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryRepositoryPostProcessor() {
+        return new SlowQueryRepositoryPostProcessor();
+    }
+
+    private static class SlowQueryRepositoryPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private boolean enabled;
+        private long thresholdMs;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.enabled = environment.getProperty("slow-query.enabled", Boolean.class, true);
+            this.thresholdMs = environment.getProperty("slow-query.threshold-ms", Long.class, 200L);
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                proxyFactory.addAdvice(new SlowQueryInterceptor(
+                                        repositoryInformation.getRepositoryInterface(), thresholdMs))));
+            }
+            return bean;
+        }
+    }
+}
@@ -12,6 +12,8 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                // Client đọc ETag để gửi lại qua If-None-Match, Idempotent-Replayed để biết response là bản đã lưu
+                .exposedHeaders("ETag", "Idempotent-Replayed")
                 .allowCredentials(true);
     }
 }
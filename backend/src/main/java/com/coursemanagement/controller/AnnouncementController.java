@@ -1,5 +1,6 @@
 package com.coursemanagement.controller;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Announcement;
 import com.coursemanagement.service.AnnouncementService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,8 +18,11 @@ public class AnnouncementController {
     private AnnouncementService announcementService;
 
     @GetMapping
-    public ResponseEntity<List<Announcement>> getAllAnnouncements() {
-        return ResponseEntity.ok(announcementService.getAllAnnouncements());
+    public ResponseEntity<CursorPage<Object>> getAllAnnouncements(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(announcementService.getAnnouncementPage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
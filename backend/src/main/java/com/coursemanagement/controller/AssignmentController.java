@@ -1,5 +1,6 @@
 package com.coursemanagement.controller;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Assignment;
 import com.coursemanagement.service.AssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,8 +18,11 @@ public class AssignmentController {
     private AssignmentService assignmentService;
 
     @GetMapping
-    public ResponseEntity<List<Assignment>> getAllAssignments() {
-        return ResponseEntity.ok(assignmentService.getAllAssignments());
+    public ResponseEntity<CursorPage<Object>> getAllAssignments(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(assignmentService.getAssignmentPage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,55 @@
+package com.coursemanagement.controller;
+
+import com.coursemanagement.entity.Attachment;
+import com.coursemanagement.service.AttachmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/attachments")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AttachmentController {
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    // Tên file ở cuối đường dẫn chỉ để trình duyệt đặt tên khi lưu
+    @GetMapping({"/{id}", "/{id}/{fileName}"})
+    public ResponseEntity<Resource> download(@PathVariable Integer id) {
+        Attachment attachment = attachmentService.getAttachment(id).orElse(null);
+        if (attachment == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return attachmentService.openContent(attachment)
+            .map(resource -> ResponseEntity.ok()
+                // Nội dung gắn với SHA-256 nên không bao giờ đổi
+                .eTag(attachment.getSha256())
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .contentType(contentType(attachment))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString())
+                .body(resource))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static MediaType contentType(Attachment attachment) {
+        if (attachment.getContentType() != null) {
+            try {
+                return MediaType.parseMediaType(attachment.getContentType());
+            } catch (IllegalArgumentException ignored) {
+                // Content-Type do trình duyệt gửi lên không hợp lệ
+            }
+        }
+        return MediaTypeFactory.getMediaType(attachment.getFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
@@ -1,10 +1,21 @@
 package com.coursemanagement.controller;
 
 import com.coursemanagement.entity.Course;
+import com.coursemanagement.service.CatalogVersions;
+import com.coursemanagement.service.CourseCatalogSnapshot;
 import com.coursemanagement.service.CourseService;
+import com.coursemanagement.service.GradebookService;
+import com.coursemanagement.util.CsvRowWriter;
+import com.coursemanagement.util.XlsxRowWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,9 +27,43 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CourseCatalogSnapshot courseCatalog;
+
+    @Autowired
+    private GradebookService gradebookService;
+
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<?> getAllCourses(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        // Danh sách chưa đổi từ lần tải trước: trả 304, không truy vấn
+        if (request.checkNotModified(catalogVersions.etag(CatalogVersions.COURSES, cursor, size, fields),
+                catalogVersions.lastModified(CatalogVersions.COURSES))) {
+            return null;
+        }
+        // Không chọn fields: trả thẳng byte JSON đã dựng sẵn
+        if (fields == null || fields.isBlank()) {
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            CourseCatalogSnapshot.RenderedPage page = courseCatalog.page(cursor, size, gzip).orElse(null);
+            if (page != null) {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .contentLength(page.getBody().length)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+                if (page.isGzipped()) {
+                    response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return response.body(new ByteArrayResource(page.getBody()));
+            }
+        }
+        return ResponseEntity.ok(courseService.getCoursePage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
@@ -52,5 +97,30 @@ public class CourseController {
     public ResponseEntity<List<Course>> getCoursesByInstructor(@PathVariable Integer instructorId) {
         return ResponseEntity.ok(courseService.getCoursesByInstructor(instructorId));
     }
-}
 
+    // Xuất bảng điểm, dữ liệu được ghi thẳng ra response trong lúc đọc từ database
+    @GetMapping("/{id}/gradebook.csv")
+    public ResponseEntity<StreamingResponseBody> exportGradebookCsv(@PathVariable Integer id) {
+        return gradebookResponse(id, "csv", MediaType.parseMediaType("text/csv; charset=UTF-8"),
+                out -> gradebookService.writeGradebook(id, new CsvRowWriter(out)));
+    }
+
+    @GetMapping("/{id}/gradebook.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportGradebookXlsx(@PathVariable Integer id) {
+        return gradebookResponse(id, "xlsx",
+                MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+                out -> gradebookService.writeGradebook(id, new XlsxRowWriter(out, "Bảng điểm")));
+    }
+
+    private ResponseEntity<StreamingResponseBody> gradebookResponse(Integer id, String extension,
+                                                                    MediaType mediaType, StreamingResponseBody body) {
+        return courseService.getCourseById(id)
+            .map(course -> ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("gradebook-" + course.getCourseCode() + "." + extension)
+                    .build().toString())
+                .body(body))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,14 +1,10 @@
 package com.coursemanagement.controller;
 
-import com.coursemanagement.repository.CourseRepository;
-import com.coursemanagement.repository.StudentRepository;
-import com.coursemanagement.repository.AssignmentRepository;
-import com.coursemanagement.repository.EnrollmentRepository;
+import com.coursemanagement.service.DashboardStatsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -17,25 +13,20 @@ import java.util.Map;
 public class DashboardController {
     
     @Autowired
-    private CourseRepository courseRepository;
-    
-    @Autowired
-    private StudentRepository studentRepository;
-    
-    @Autowired
-    private AssignmentRepository assignmentRepository;
-    
-    @Autowired
-    private EnrollmentRepository enrollmentRepository;
+    private DashboardStatsCache dashboardStatsCache;
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalCourses", courseRepository.count());
-        stats.put("totalStudents", studentRepository.count());
-        stats.put("totalAssignments", assignmentRepository.count());
-        stats.put("totalEnrollments", enrollmentRepository.count());
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardStatsCache.getStats());
+    }
+
+    @GetMapping("/stats/course/{courseId}")
+    public ResponseEntity<Map<String, Object>> getCourseStats(@PathVariable Integer courseId) {
+        return ResponseEntity.ok(dashboardStatsCache.getCourseStats(courseId));
     }
-}
 
+    @GetMapping("/stats/instructor/{instructorId}")
+    public ResponseEntity<Map<String, Object>> getInstructorStats(@PathVariable Integer instructorId) {
+        return ResponseEntity.ok(dashboardStatsCache.getInstructorStats(instructorId));
+    }
+}
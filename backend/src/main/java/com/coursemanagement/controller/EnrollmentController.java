@@ -1,6 +1,8 @@
 package com.coursemanagement.controller;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Enrollment;
+import com.coursemanagement.exception.ServiceUnavailableException;
 import com.coursemanagement.service.EnrollmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,8 +19,11 @@ public class EnrollmentController {
     private EnrollmentService enrollmentService;
 
     @GetMapping
-    public ResponseEntity<List<Enrollment>> getAllEnrollments() {
-        return ResponseEntity.ok(enrollmentService.getAllEnrollments());
+    public ResponseEntity<CursorPage<Object>> getAllEnrollments(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(enrollmentService.getEnrollmentPage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
@@ -32,6 +37,9 @@ public class EnrollmentController {
     public ResponseEntity<?> createEnrollment(@RequestBody Enrollment enrollment) {
         try {
             return ResponseEntity.ok(enrollmentService.createEnrollment(enrollment));
+        } catch (ServiceUnavailableException e) {
+            // Lỗi tạm thời trả 503 qua GlobalExceptionHandler, không bị lưu theo Idempotency-Key
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,26 @@
+package com.coursemanagement.controller;
+
+import com.coursemanagement.service.EventBroker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+
+@RestController
+@RequestMapping("/events")
+@CrossOrigin(origins = "http://localhost:3000")
+public class EventController {
+
+    @Autowired
+    private EventBroker eventBroker;
+
+    // channels: danh sách kênh cách nhau bởi dấu phẩy, ví dụ course:1,student:5
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam String channels,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBroker.subscribe(Arrays.asList(channels.split(",")), lastEventId);
+    }
+}
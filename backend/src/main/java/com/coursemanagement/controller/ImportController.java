@@ -0,0 +1,50 @@
+package com.coursemanagement.controller;
+
+import com.coursemanagement.dto.ImportJob;
+import com.coursemanagement.service.ImportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/imports")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ImportController {
+
+    private static final int MAX_ERROR_PAGE = 1000;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    // type: students | enrollments | period-courses
+    @PostMapping("/{type}")
+    public ResponseEntity<ImportJob> startImport(@PathVariable String type, @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.startImport(type, file));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJob>> getJobs() {
+        return ResponseEntity.ok(importJobService.getJobs());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> getJob(@PathVariable String jobId) {
+        return importJobService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<List<ImportJob.RowError>> getErrors(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+        return importJobService.getJob(jobId)
+            .map(job -> ResponseEntity.ok(job.getErrors(offset, Math.min(limit, MAX_ERROR_PAGE))))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,12 +1,14 @@
 package com.coursemanagement.controller;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Instructor;
+import com.coursemanagement.service.CatalogVersions;
 import com.coursemanagement.service.InstructorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/instructors")
@@ -16,9 +18,21 @@ public class InstructorController {
     @Autowired
     private InstructorService instructorService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     @GetMapping
-    public ResponseEntity<List<Instructor>> getAllInstructors() {
-        return ResponseEntity.ok(instructorService.getAllInstructors());
+    public ResponseEntity<CursorPage<Object>> getAllInstructors(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        // Danh sách chưa đổi từ lần tải trước: trả 304, không truy vấn
+        if (request.checkNotModified(catalogVersions.etag(CatalogVersions.INSTRUCTORS, cursor, size, fields),
+                catalogVersions.lastModified(CatalogVersions.INSTRUCTORS))) {
+            return null;
+        }
+        return ResponseEntity.ok(instructorService.getInstructorPage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
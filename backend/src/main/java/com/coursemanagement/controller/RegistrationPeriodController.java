@@ -2,13 +2,18 @@ package com.coursemanagement.controller;
 
 import com.coursemanagement.entity.Course;
 import com.coursemanagement.entity.RegistrationPeriod;
+import com.coursemanagement.service.CatalogVersions;
 import com.coursemanagement.service.CourseService;
 import com.coursemanagement.service.RegistrationPeriodService;
+import com.coursemanagement.util.BatchLoader;
+import com.coursemanagement.util.RequestLoaders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,10 +29,18 @@ public class RegistrationPeriodController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private RequestLoaders requestLoaders;
+
     // Lấy tất cả đợt đăng ký
     @GetMapping
-    public ResponseEntity<List<RegistrationPeriod>> getAllPeriods() {
-        periodService.refreshAllPeriodStatuses(); // Cập nhật status trước khi trả về
+    public ResponseEntity<List<RegistrationPeriod>> getAllPeriods(WebRequest request) {
+        if (notModified(request, "all")) {
+            return null;
+        }
         return ResponseEntity.ok(periodService.getAllPeriods());
     }
 
@@ -41,8 +54,10 @@ public class RegistrationPeriodController {
 
     // Lấy các đợt đăng ký đang active
     @GetMapping("/active")
-    public ResponseEntity<List<RegistrationPeriod>> getActivePeriods() {
-        periodService.refreshAllPeriodStatuses();
+    public ResponseEntity<List<RegistrationPeriod>> getActivePeriods(WebRequest request) {
+        if (notModified(request, "active")) {
+            return null;
+        }
         return ResponseEntity.ok(periodService.getActivePeriods());
     }
 
@@ -83,12 +98,7 @@ public class RegistrationPeriodController {
     @GetMapping("/{id}/courses")
     public ResponseEntity<?> getPeriodCourses(@PathVariable Integer id) {
         try {
-            List<Integer> courseIds = periodService.getCourseIdsByPeriod(id);
-            List<Course> courses = courseIds.stream()
-                    .map(courseId -> courseService.getCourseById(courseId).orElse(null))
-                    .filter(course -> course != null)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(courses);
+            return ResponseEntity.ok(courseService.getCoursesByPeriod(id));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -98,6 +108,7 @@ public class RegistrationPeriodController {
     @PutMapping("/{id}/courses")
     public ResponseEntity<?> updatePeriodCourses(@PathVariable Integer id, @RequestBody List<Integer> courseIds) {
         try {
+            requireCoursesExist(courseIds);
             periodService.updatePeriodCourses(id, courseIds);
             Map<String, String> response = new HashMap<>();
             response.put("message", "Cập nhật danh sách khóa học thành công");
@@ -114,10 +125,9 @@ public class RegistrationPeriodController {
             RegistrationPeriod period = periodService.getPeriodById(id)
                     .orElseThrow(() -> new RuntimeException("Không tìm thấy đợt đăng ký"));
             
-            List<Integer> courseIds = periodService.getCourseIdsByPeriod(id);
-            List<Course> courses = courseIds.stream()
-                    .map(courseId -> courseService.getCourseById(courseId).orElse(null))
-                    .filter(course -> course != null)
+            List<Course> courses = courseService.getCoursesByPeriod(id);
+            List<Integer> courseIds = courses.stream()
+                    .map(Course::getCourseId)
                     .collect(Collectors.toList());
 
             Map<String, Object> response = new HashMap<>();
@@ -130,5 +140,22 @@ public class RegistrationPeriodController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-}
 
+    // Kiểm tra cả danh sách bằng một truy vấn findAllById thay vì tra từng khóa học
+    private void requireCoursesExist(List<Integer> courseIds) {
+        BatchLoader<Integer, Course> courses = requestLoaders.courses();
+        courses.loadMany(courseIds);
+        List<Integer> missing = new LinkedHashSet<>(courseIds).stream()
+                .filter(courseId -> courseId == null || courses.load(courseId).isEmpty())
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Không tìm thấy khóa học: " + missing);
+        }
+    }
+
+    // Danh sách chưa đổi từ lần tải trước: trả 304, không truy vấn
+    private boolean notModified(WebRequest request, String variant) {
+        return request.checkNotModified(catalogVersions.etag(CatalogVersions.REGISTRATION_PERIODS, variant),
+                catalogVersions.lastModified(CatalogVersions.REGISTRATION_PERIODS));
+    }
+}
@@ -0,0 +1,26 @@
+package com.coursemanagement.controller;
+
+import com.coursemanagement.common.SearchIndex;
+import com.coursemanagement.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchIndex.Hit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.search(q, type, limit));
+    }
+}
@@ -1,12 +1,15 @@
 package com.coursemanagement.controller;
 
+import com.coursemanagement.dto.CursorPage;
+import com.coursemanagement.dto.FeedPage;
 import com.coursemanagement.entity.Student;
+import com.coursemanagement.service.AnnouncementFeedService;
 import com.coursemanagement.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/students")
@@ -16,9 +19,15 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private AnnouncementFeedService feedService;
+
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        return ResponseEntity.ok(studentService.getAllStudents());
+    public ResponseEntity<CursorPage<Object>> getAllStudents(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(studentService.getStudentPage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
@@ -47,5 +56,25 @@ public class StudentController {
         studentService.deleteStudent(id);
         return ResponseEntity.ok().build();
     }
-}
 
+    @GetMapping("/{id}/feed")
+    public ResponseEntity<FeedPage> getFeed(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(feedService.getFeed(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/feed/unread-count")
+    public ResponseEntity<Map<String, Integer>> getUnreadCount(@PathVariable Integer id) {
+        return ResponseEntity.ok(Map.of("unreadCount", feedService.getUnreadCount(id)));
+    }
+
+    // Đánh dấu đã đọc tới thông báo upTo, bỏ trống để đánh dấu tất cả
+    @PostMapping("/{id}/feed/read")
+    public ResponseEntity<Map<String, Integer>> markFeedRead(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Integer upTo) {
+        return ResponseEntity.ok(Map.of("unreadCount", feedService.markRead(id, upTo)));
+    }
+}
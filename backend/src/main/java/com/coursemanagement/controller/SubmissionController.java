@@ -1,10 +1,15 @@
 package com.coursemanagement.controller;
 
+import com.coursemanagement.dto.CursorPage;
+import com.coursemanagement.entity.Attachment;
 import com.coursemanagement.entity.Submission;
+import com.coursemanagement.repository.projection.SubmissionSummary;
+import com.coursemanagement.service.AttachmentService;
 import com.coursemanagement.service.SubmissionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -16,9 +21,15 @@ public class SubmissionController {
     @Autowired
     private SubmissionService submissionService;
 
+    @Autowired
+    private AttachmentService attachmentService;
+
     @GetMapping
-    public ResponseEntity<List<Submission>> getAllSubmissions() {
-        return ResponseEntity.ok(submissionService.getAllSubmissions());
+    public ResponseEntity<CursorPage<Object>> getAllSubmissions(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(submissionService.getSubmissionPage(cursor, size, fields));
     }
 
     @GetMapping("/{id}")
@@ -42,6 +53,12 @@ public class SubmissionController {
         }
     }
 
+    // Tải file đính kèm lên (multipart, trường "file"), thay file cũ nếu có
+    @PostMapping("/{id}/attachment")
+    public ResponseEntity<Attachment> uploadAttachment(@PathVariable Integer id, @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(attachmentService.upload(id, file));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSubmission(@PathVariable Integer id) {
         submissionService.deleteSubmission(id);
@@ -49,12 +66,12 @@ public class SubmissionController {
     }
 
     @GetMapping("/assignment/{assignmentId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByAssignment(@PathVariable Integer assignmentId) {
+    public ResponseEntity<List<SubmissionSummary>> getSubmissionsByAssignment(@PathVariable Integer assignmentId) {
         return ResponseEntity.ok(submissionService.getSubmissionsByAssignment(assignmentId));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByStudent(@PathVariable Integer studentId) {
+    public ResponseEntity<List<SubmissionSummary>> getSubmissionsByStudent(@PathVariable Integer studentId) {
         return ResponseEntity.ok(submissionService.getSubmissionsByStudent(studentId));
     }
 }
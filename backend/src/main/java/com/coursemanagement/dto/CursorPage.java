@@ -0,0 +1,84 @@
+package com.coursemanagement.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Một trang kết quả phân trang theo khóa (keyset).
+ * nextCursor là khóa chính của phần tử cuối, client gửi lại để lấy trang kế tiếp.
+ */
+public class CursorPage<T> {
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 1000;
+
+    private List<T> items;
+    private Integer nextCursor;
+    private boolean hasMore;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, Integer nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    public static int afterCursor(Integer cursor) {
+        return cursor != null ? cursor : 0;
+    }
+
+    /**
+     * Lấy dư một phần tử để biết còn trang sau hay không
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Integer> idGetter) {
+        boolean hasMore = fetched.size() > size;
+        List<T> items = hasMore ? new ArrayList<>(fetched.subList(0, size)) : fetched;
+        Integer nextCursor = hasMore ? idGetter.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
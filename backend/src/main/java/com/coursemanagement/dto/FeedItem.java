@@ -0,0 +1,98 @@
+package com.coursemanagement.dto;
+
+import com.coursemanagement.entity.Announcement;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một thông báo trong feed của sinh viên, kèm trạng thái đã đọc
+ */
+public class FeedItem {
+    private Integer announcementId;
+    private Integer courseId;
+    private Integer instructorId;
+    private String title;
+    private String content;
+    private Announcement.Priority priority;
+    private LocalDateTime createdAt;
+    private boolean read;
+
+    public FeedItem() {
+    }
+
+    public FeedItem(Announcement announcement, boolean read) {
+        this.announcementId = announcement.getAnnouncementId();
+        this.courseId = announcement.getCourseId();
+        this.instructorId = announcement.getInstructorId();
+        this.title = announcement.getTitle();
+        this.content = announcement.getContent();
+        this.priority = announcement.getPriority();
+        this.createdAt = announcement.getCreatedAt();
+        this.read = read;
+    }
+
+    // Getters and Setters
+    public Integer getAnnouncementId() {
+        return announcementId;
+    }
+
+    public void setAnnouncementId(Integer announcementId) {
+        this.announcementId = announcementId;
+    }
+
+    public Integer getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Integer courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getInstructorId() {
+        return instructorId;
+    }
+
+    public void setInstructorId(Integer instructorId) {
+        this.instructorId = instructorId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Announcement.Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Announcement.Priority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+}
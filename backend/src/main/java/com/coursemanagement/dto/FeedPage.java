@@ -0,0 +1,27 @@
+package com.coursemanagement.dto;
+
+import java.util.List;
+
+/**
+ * Một trang feed thông báo, kèm số thông báo chưa đọc của sinh viên.
+ * nextCursor là announcementId của phần tử cuối trang.
+ */
+public class FeedPage extends CursorPage<FeedItem> {
+    private int unreadCount;
+
+    public FeedPage() {
+    }
+
+    public FeedPage(List<FeedItem> items, Integer nextCursor, boolean hasMore, int unreadCount) {
+        super(items, nextCursor, hasMore);
+        this.unreadCount = unreadCount;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
@@ -0,0 +1,158 @@
+package com.coursemanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trạng thái một job import CSV. Được cập nhật bởi luồng xử lý và
+ * có thể đọc bất cứ lúc nào trong khi job đang chạy.
+ */
+public class ImportJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final String type;
+    private final String fileName;
+    private final int maxErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private final AtomicInteger readRows = new AtomicInteger();
+    private final AtomicInteger importedRows = new AtomicInteger();
+    private final AtomicInteger failedRows = new AtomicInteger();
+    // Chỉ giữ maxErrors lỗi đầu tiên, failedRows vẫn đếm đủ
+    private final List<RowError> errors = new ArrayList<>();
+
+    public ImportJob(String jobId, String type, String fileName, int maxErrors) {
+        this.jobId = jobId;
+        this.type = type;
+        this.fileName = fileName;
+        this.maxErrors = maxErrors;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public void addReadRows(int count) {
+        readRows.addAndGet(count);
+    }
+
+    public void addImportedRows(int count) {
+        importedRows.addAndGet(count);
+    }
+
+    public void addError(int line, String message) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    /**
+     * Lấy một trang lỗi theo thứ tự ghi nhận
+     */
+    public List<RowError> getErrors(int offset, int limit) {
+        synchronized (errors) {
+            int from = Math.min(Math.max(offset, 0), errors.size());
+            int to = Math.min(from + Math.max(limit, 0), errors.size());
+            return new ArrayList<>(errors.subList(from, to));
+        }
+    }
+
+    // Getters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getReadRows() {
+        return readRows.get();
+    }
+
+    // Số dòng đã ghi xong hoặc bị loại
+    public int getProcessedRows() {
+        return importedRows.get() + failedRows.get();
+    }
+
+    public int getImportedRows() {
+        return importedRows.get();
+    }
+
+    public int getFailedRows() {
+        return failedRows.get();
+    }
+
+    /**
+     * Lỗi của một dòng trong file CSV
+     */
+    public static class RowError {
+        private final int line;
+        private final String message;
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.coursemanagement.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Mốc announcementId lớn nhất mỗi sinh viên đã đọc trong feed thông báo,
+ * số chưa đọc được tính từ mốc này.
+ */
+@Entity
+@Table(name = "feed_read_markers")
+public class FeedReadMarker {
+
+    @Id
+    @Column(name = "student_id")
+    private Integer studentId;
+
+    @Column(name = "read_up_to", nullable = false)
+    private Integer readUpTo;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Integer getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Integer studentId) {
+        this.studentId = studentId;
+    }
+
+    public Integer getReadUpTo() {
+        return readUpTo;
+    }
+
+    public void setReadUpTo(Integer readUpTo) {
+        this.readUpTo = readUpTo;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
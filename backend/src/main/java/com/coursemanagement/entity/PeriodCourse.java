@@ -1,8 +1,12 @@
 package com.coursemanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "period-course")
 @Table(name = "period_courses", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"period_id", "course_id"})
 })
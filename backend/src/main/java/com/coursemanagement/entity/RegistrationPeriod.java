@@ -1,10 +1,14 @@
 package com.coursemanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "registration-period")
 @Table(name = "registration_periods")
 public class RegistrationPeriod {
     
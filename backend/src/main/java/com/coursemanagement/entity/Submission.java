@@ -1,5 +1,6 @@
 package com.coursemanagement.entity;
 
+import com.coursemanagement.util.CompressedTextConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
@@ -30,7 +31,9 @@ public class Submission {
     @JsonIgnore
     private Student student;
     
+    // Chỉ đọc khi lấy một bài nộp, các danh sách dùng SubmissionSummary
     @Column(name = "content", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
     
     @Column(name = "attachment")
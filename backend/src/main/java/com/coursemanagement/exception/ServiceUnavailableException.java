@@ -0,0 +1,33 @@
+package com.coursemanagement.exception;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Lỗi tạm thời (quá tải, hết thời gian chờ, bị gián đoạn), trả về 503 để client thử lại.
+ * Khác với lỗi nghiệp vụ 400, response này không được lưu theo Idempotency-Key.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Lỗi database tạm thời: deadlock, lock timeout, query timeout, hết connection trong pool
+     */
+    public static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
@@ -0,0 +1,139 @@
+package com.coursemanagement.filter;
+
+import com.coursemanagement.entity.IdempotencyRecord;
+import com.coursemanagement.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Xử lý header Idempotency-Key cho POST /enrollments và POST /submissions.
+ * Request đầu tiên chạy bình thường và response được lưu lại; request gửi lại
+ * cùng key (cùng người dùng, cùng endpoint, cùng body) nhận đúng response đó
+ * kèm header Idempotent-Replayed mà không ghi lại lần nữa.
+ * Chạy trước RateLimitFilter để request retry không tốn lượt.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key == null || !isCovered(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Idempotency-Key phải có từ 1 đến " + MAX_KEY_LENGTH + " ký tự");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String keyHash = idempotencyService.keyHash(scope(request), request.getServletPath(), key.trim());
+        String requestHash = idempotencyService.requestHash(body);
+
+        IdempotencyRecord stored = idempotencyService.find(keyHash);
+        if (stored != null) {
+            replay(stored, requestHash, response);
+            return;
+        }
+        if (!idempotencyService.begin(keyHash)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeError(response, HttpServletResponse.SC_CONFLICT,
+                    "Yêu cầu với Idempotency-Key này đang được xử lý");
+            return;
+        }
+        try {
+            // Request trước cùng key có thể vừa xong giữa lúc find và begin
+            stored = idempotencyService.find(keyHash);
+            if (stored != null) {
+                replay(stored, requestHash, response);
+                return;
+            }
+            ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (isStorable(status)) {
+                idempotencyService.save(keyHash, requestHash, status, cachingResponse.getContentType(),
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+            }
+            cachingResponse.copyBodyToResponse();
+        } finally {
+            idempotencyService.finish(keyHash);
+        }
+    }
+
+    private void replay(IdempotencyRecord stored, String requestHash, HttpServletResponse response) throws IOException {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            writeError(response, 422, "Idempotency-Key đã được dùng cho một yêu cầu khác");
+            return;
+        }
+        idempotencyService.markReplayed();
+        response.setStatus(stored.getStatusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getResponseBody() != null) {
+            byte[] bytes = stored.getResponseBody().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    private static boolean isCovered(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return false;
+        }
+        String path = request.getServletPath();
+        return "/enrollments".equals(path) || "/submissions".equals(path);
+    }
+
+    // Chỉ lưu kết quả xác định: 2xx và lỗi nghiệp vụ 4xx. Lỗi tạm thời (408, 409, 429,
+    // 503 từ ServiceUnavailableException) và lỗi máy chủ không được lưu để client retry được
+    private static boolean isStorable(int status) {
+        if (status >= 200 && status < 300) {
+            return true;
+        }
+        return status >= 400 && status < 500 && status != HttpServletResponse.SC_CONFLICT && status != 429
+                && status != HttpServletResponse.SC_REQUEST_TIMEOUT;
+    }
+
+    // Người dùng chưa đăng nhập được tách theo IP để không đọc được response của nhau
+    private static String scope(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "anonymous:" + request.getRemoteAddr();
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,109 @@
+package com.coursemanagement.filter;
+
+import com.coursemanagement.util.RateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Áp giới hạn của RateLimiter cho POST /auth/login và POST /enrollments.
+ * Chạy sau JwtAuthenticationFilter để lấy được người dùng từ token; riêng
+ * /auth/login chưa có token nên giới hạn theo username gửi trong body.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Body đăng nhập hợp lệ chỉ vài chục byte, body lớn hơn không parse để lấy username
+    private static final int MAX_LOGIN_BODY = 4096;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Route route = route(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String user = currentUser();
+        if (route == RateLimiter.Route.LOGIN) {
+            byte[] body = request.getInputStream().readAllBytes();
+            if (body.length <= MAX_LOGIN_BODY) {
+                user = loginUsername(body);
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        RateLimiter.Decision decision;
+        try {
+            decision = rateLimiter.acquire(route, user, request.getRemoteAddr());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!decision.isAllowed()) {
+            response.setStatus(decision.getStatus());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"error\":\"" + decision.getMessage() + "\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            rateLimiter.release(route);
+        }
+    }
+
+    private static RateLimiter.Route route(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getServletPath();
+        if ("/auth/login".equals(path)) {
+            return RateLimiter.Route.LOGIN;
+        }
+        if ("/enrollments".equals(path)) {
+            return RateLimiter.Route.ENROLLMENT;
+        }
+        return null;
+    }
+
+    // Username được chuẩn hóa để không lách giới hạn bằng cách đổi hoa thường hay thêm khoảng trắng
+    private static String loginUsername(byte[] body) {
+        try {
+            JsonNode username = OBJECT_MAPPER.readTree(body).path("username");
+            if (!username.isTextual() || username.asText().isBlank()) {
+                return null;
+            }
+            return username.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
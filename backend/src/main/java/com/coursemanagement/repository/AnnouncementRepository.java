@@ -1,7 +1,9 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Announcement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +13,13 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Inte
     List<Announcement> findByCourseId(Integer courseId);
     List<Announcement> findByInstructorId(Integer instructorId);
     List<Announcement> findByCourseIdOrderByCreatedAtDesc(Integer courseId);
-}
 
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findByAnnouncementIdGreaterThanOrderByAnnouncementIdAsc(Integer announcementId, Pageable pageable, Class<T> type);
+
+    // Thông báo mới nhất của các khóa học sinh viên đã đăng ký, dùng để dựng feed
+    @Query("SELECT a FROM Announcement a WHERE a.courseId IN " +
+           "(SELECT e.courseId FROM Enrollment e WHERE e.studentId = :studentId) " +
+           "ORDER BY a.announcementId DESC")
+    List<Announcement> findLatestForStudent(Integer studentId, Pageable pageable);
+}
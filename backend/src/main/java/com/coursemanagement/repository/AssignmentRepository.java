@@ -1,7 +1,9 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Assignment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +11,12 @@ import java.util.List;
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Integer> {
     List<Assignment> findByCourseId(Integer courseId);
+    List<Assignment> findByCourseIdOrderByDueDateAscAssignmentIdAsc(Integer courseId);
     List<Assignment> findByCourseIdAndStatus(Integer courseId, Assignment.AssignmentStatus status);
-}
 
+    @Query("SELECT a.courseId, COUNT(a) FROM Assignment a GROUP BY a.courseId")
+    List<Object[]> countGroupByCourseId();
+
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findByAssignmentIdGreaterThanOrderByAssignmentIdAsc(Integer assignmentId, Pageable pageable, Class<T> type);
+}
@@ -0,0 +1,31 @@
+package com.coursemanagement.repository;
+
+import com.coursemanagement.entity.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Integer> {
+
+    List<Attachment> findBySubmissionId(Integer submissionId);
+
+    // Tổng dung lượng đã dùng của khóa học (tính theo từng file đã tải lên)
+    @Query("SELECT COALESCE(SUM(a.sizeBytes), 0) FROM Attachment a WHERE a.courseId = :courseId")
+    long sumSizeByCourseId(Integer courseId);
+
+    @Query("SELECT DISTINCT a.sha256 FROM Attachment a")
+    List<String> findAllHashes();
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.submissionId = :submissionId")
+    void deleteBySubmissionId(Integer submissionId);
+
+    // Xóa file đính kèm của bài nộp đã bị xóa ngoài API (ứng dụng desktop, SQL trực tiếp)
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE NOT EXISTS (SELECT s.submissionId FROM Submission s WHERE s.submissionId = a.submissionId)")
+    int deleteOrphans();
+}
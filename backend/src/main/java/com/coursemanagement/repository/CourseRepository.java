@@ -1,7 +1,11 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +15,26 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Integer> {
     Optional<Course> findByCourseCode(String courseCode);
     List<Course> findByInstructorId(Integer instructorId);
+
+    // Kết quả được lưu trong query cache, tự hết hạn khi bảng courses thay đổi
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "course-by-status")
+    })
     List<Course> findByStatus(Course.CourseStatus status);
+
     boolean existsByCourseCode(String courseCode);
-}
 
+    @Query("SELECT c.courseId, c.maxStudents FROM Course c")
+    List<Object[]> findAllCapacities();
+
+    @Query("SELECT c.courseId, c.instructorId FROM Course c")
+    List<Object[]> findAllInstructorIds();
+
+    // Lấy các khóa học trong một đợt đăng ký bằng một truy vấn join
+    @Query("SELECT c FROM Course c, PeriodCourse pc WHERE pc.courseId = c.courseId AND pc.periodId = :periodId")
+    List<Course> findByPeriodId(Integer periodId);
+
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findByCourseIdGreaterThanOrderByCourseIdAsc(Integer courseId, Pageable pageable, Class<T> type);
+}
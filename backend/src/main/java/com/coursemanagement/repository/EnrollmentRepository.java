@@ -1,11 +1,17 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Enrollment;
+import com.coursemanagement.repository.projection.GradebookRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
@@ -13,5 +19,33 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>
     List<Enrollment> findByCourseId(Integer courseId);
     Optional<Enrollment> findByStudentIdAndCourseId(Integer studentId, Integer courseId);
     boolean existsByStudentIdAndCourseId(Integer studentId, Integer courseId);
-}
 
+    // Dùng để nạp sổ chỗ ngồi khi khởi động
+    @Query("SELECT e.courseId, e.studentId FROM Enrollment e")
+    List<Object[]> findAllCourseStudentPairs();
+
+    @Query("SELECT e.studentId FROM Enrollment e WHERE e.courseId = :courseId")
+    List<Integer> findStudentIdsByCourseId(Integer courseId);
+
+    @Query("SELECT e.courseId, COUNT(e) FROM Enrollment e GROUP BY e.courseId")
+    List<Object[]> countGroupByCourseId();
+
+    // Bảng điểm của khóa học, sắp theo sinh viên để xoay cột theo bài tập khi đọc.
+    // Fetch size Integer.MIN_VALUE bật chế độ streaming của MySQL Connector/J cho riêng truy vấn này:
+    // driver đọc từng dòng thay vì nạp hết, connection không chạy truy vấn khác cho đến khi stream đóng
+    @Query("SELECT e.studentId AS studentId, s.fullName AS fullName, s.email AS email, e.grade AS grade, " +
+           "sub.assignmentId AS assignmentId, sub.score AS score " +
+           "FROM Enrollment e JOIN Student s ON s.studentId = e.studentId " +
+           "LEFT JOIN Submission sub ON sub.studentId = e.studentId AND sub.assignmentId IN " +
+           "(SELECT a.assignmentId FROM Assignment a WHERE a.courseId = e.courseId) " +
+           "WHERE e.courseId = :courseId ORDER BY e.studentId")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheable", value = "false")
+    })
+    Stream<GradebookRow> streamGradebook(Integer courseId);
+
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findByEnrollmentIdGreaterThanOrderByEnrollmentIdAsc(Integer enrollmentId, Pageable pageable, Class<T> type);
+}
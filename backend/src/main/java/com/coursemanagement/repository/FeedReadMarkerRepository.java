@@ -0,0 +1,21 @@
+package com.coursemanagement.repository;
+
+import com.coursemanagement.entity.FeedReadMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface FeedReadMarkerRepository extends JpaRepository<FeedReadMarker, Integer> {
+
+    // Chỉ tiến mốc lên, hai lần đánh dấu đồng thời không ghi đè mốc lớn hơn
+    @Modifying
+    @Transactional
+    @Query("UPDATE FeedReadMarker m SET m.readUpTo = :readUpTo, m.updatedAt = :now " +
+           "WHERE m.studentId = :studentId AND m.readUpTo < :readUpTo")
+    int advance(Integer studentId, Integer readUpTo, LocalDateTime now);
+}
@@ -1,14 +1,18 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Instructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InstructorRepository extends JpaRepository<Instructor, Integer> {
     Optional<Instructor> findByEmail(String email);
     boolean existsByEmail(String email);
-}
 
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findByInstructorIdGreaterThanOrderByInstructorIdAsc(Integer instructorId, Pageable pageable, Class<T> type);
+}
@@ -2,8 +2,11 @@ package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.PeriodCourse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,9 +14,22 @@ public interface PeriodCourseRepository extends JpaRepository<PeriodCourse, Inte
     
     // Lấy các khóa học trong một đợt đăng ký
     List<PeriodCourse> findByPeriodId(Integer periodId);
+
+    @Query("SELECT pc.courseId FROM PeriodCourse pc WHERE pc.periodId = :periodId")
+    List<Integer> findCourseIdsByPeriodId(Integer periodId);
+
+    @Query("SELECT pc.periodId, pc.courseId FROM PeriodCourse pc WHERE pc.periodId IN :periodIds")
+    List<Object[]> findPairsByPeriodIdIn(Collection<Integer> periodIds);
     
     // Xóa tất cả khóa học của một đợt
+    @Modifying
+    @Query("DELETE FROM PeriodCourse pc WHERE pc.periodId = :periodId")
     void deleteByPeriodId(Integer periodId);
+
+    // Xóa một số khóa học khỏi đợt bằng một câu DELETE
+    @Modifying
+    @Query("DELETE FROM PeriodCourse pc WHERE pc.periodId = :periodId AND pc.courseId IN :courseIds")
+    void deleteByPeriodIdAndCourseIdIn(Integer periodId, Collection<Integer> courseIds);
     
     // Kiểm tra khóa học có trong đợt không
     boolean existsByPeriodIdAndCourseId(Integer periodId, Integer courseId);
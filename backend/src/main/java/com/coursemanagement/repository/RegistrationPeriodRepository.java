@@ -1,8 +1,11 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.RegistrationPeriod;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -13,6 +16,10 @@ public interface RegistrationPeriodRepository extends JpaRepository<Registration
     
     // Tìm các đợt đăng ký đang active (theo ngày hiện tại)
     @Query("SELECT p FROM RegistrationPeriod p WHERE p.startDate <= :today AND p.endDate >= :today")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "active-periods")
+    })
     List<RegistrationPeriod> findActivePeriods(LocalDate today);
     
     // Tìm các đợt đăng ký theo status
@@ -20,5 +27,28 @@ public interface RegistrationPeriodRepository extends JpaRepository<Registration
     
     // Sắp xếp theo ngày bắt đầu
     List<RegistrationPeriod> findAllByOrderByStartDateDesc();
+
+    // Đặt lại status theo ngày cho mọi đợt bằng một câu UPDATE, chỉ ghi các dòng bị đổi
+    @Modifying
+    @Query("UPDATE RegistrationPeriod p SET p.status = CASE " +
+           "WHEN p.startDate > :today THEN :upcoming " +
+           "WHEN p.endDate < :today THEN :closed " +
+           "ELSE :active END " +
+           "WHERE p.status IS NULL " +
+           "OR (p.startDate > :today AND p.status <> :upcoming) " +
+           "OR (p.endDate < :today AND p.status <> :closed) " +
+           "OR (p.startDate <= :today AND p.endDate >= :today AND p.status <> :active)")
+    int syncStatuses(LocalDate today,
+                     RegistrationPeriod.PeriodStatus upcoming,
+                     RegistrationPeriod.PeriodStatus active,
+                     RegistrationPeriod.PeriodStatus closed);
+
+    // Ngày bắt đầu gần nhất sau hôm nay
+    @Query("SELECT MIN(p.startDate) FROM RegistrationPeriod p WHERE p.startDate > :today")
+    LocalDate findNextStartDate(LocalDate today);
+
+    // Ngày kết thúc gần nhất chưa qua
+    @Query("SELECT MIN(p.endDate) FROM RegistrationPeriod p WHERE p.endDate >= :today")
+    LocalDate findNextEndDate(LocalDate today);
 }
 
@@ -1,14 +1,20 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Integer> {
     Optional<Student> findByEmail(String email);
     boolean existsByEmail(String email);
-}
+    List<Student> findByEmailIn(Collection<String> emails);
 
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findByStudentIdGreaterThanOrderByStudentIdAsc(Integer studentId, Pageable pageable, Class<T> type);
+}
@@ -1,7 +1,11 @@
 package com.coursemanagement.repository;
 
 import com.coursemanagement.entity.Submission;
+import com.coursemanagement.repository.projection.SubmissionSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +13,18 @@ import java.util.Optional;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Integer> {
-    List<Submission> findByAssignmentId(Integer assignmentId);
-    List<Submission> findByStudentId(Integer studentId);
+    // Danh sách chỉ lấy các cột tóm tắt, không đọc cột content
+    List<SubmissionSummary> findByAssignmentIdOrderBySubmissionIdAsc(Integer assignmentId);
+    List<SubmissionSummary> findByStudentIdOrderBySubmissionIdAsc(Integer studentId);
+    Optional<SubmissionSummary> findSummaryBySubmissionId(Integer submissionId);
     Optional<Submission> findByAssignmentIdAndStudentId(Integer assignmentId, Integer studentId);
     boolean existsByAssignmentIdAndStudentId(Integer assignmentId, Integer studentId);
-}
 
+    // Phân trang theo khóa: lấy các bản ghi có ID lớn hơn cursor
+    <T> List<T> findBySubmissionIdGreaterThanOrderBySubmissionIdAsc(Integer submissionId, Pageable pageable, Class<T> type);
+
+    // Gắn file đính kèm mà không phải nạp cả bài nộp
+    @Modifying
+    @Query("UPDATE Submission s SET s.attachment = :attachment WHERE s.submissionId = :submissionId")
+    void updateAttachment(Integer submissionId, String attachment);
+}
@@ -0,0 +1,17 @@
+package com.coursemanagement.repository.projection;
+
+import com.coursemanagement.entity.Announcement;
+
+import java.time.LocalDateTime;
+
+/**
+ * Các cột hiển thị trên danh sách Announcement
+ */
+public interface AnnouncementSummary {
+    Integer getAnnouncementId();
+    Integer getCourseId();
+    Integer getInstructorId();
+    String getTitle();
+    Announcement.Priority getPriority();
+    LocalDateTime getCreatedAt();
+}
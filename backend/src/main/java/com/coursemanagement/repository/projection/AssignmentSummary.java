@@ -0,0 +1,17 @@
+package com.coursemanagement.repository.projection;
+
+import com.coursemanagement.entity.Assignment;
+
+import java.time.LocalDate;
+
+/**
+ * Các cột hiển thị trên danh sách Assignment
+ */
+public interface AssignmentSummary {
+    Integer getAssignmentId();
+    Integer getCourseId();
+    String getTitle();
+    LocalDate getDueDate();
+    Integer getMaxScore();
+    Assignment.AssignmentStatus getStatus();
+}
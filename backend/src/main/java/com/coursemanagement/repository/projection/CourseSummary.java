@@ -0,0 +1,18 @@
+package com.coursemanagement.repository.projection;
+
+import com.coursemanagement.entity.Course;
+
+import java.math.BigDecimal;
+
+/**
+ * Các cột hiển thị trên danh sách Course
+ */
+public interface CourseSummary {
+    Integer getCourseId();
+    String getCourseName();
+    String getCourseCode();
+    Integer getInstructorId();
+    BigDecimal getPrice();
+    Integer getMaxStudents();
+    Course.CourseStatus getStatus();
+}
@@ -0,0 +1,17 @@
+package com.coursemanagement.repository.projection;
+
+import com.coursemanagement.entity.Enrollment;
+
+import java.time.LocalDate;
+
+/**
+ * Các cột hiển thị trên danh sách Enrollment
+ */
+public interface EnrollmentSummary {
+    Integer getEnrollmentId();
+    Integer getStudentId();
+    Integer getCourseId();
+    LocalDate getEnrollmentDate();
+    Enrollment.CompletionStatus getCompletionStatus();
+    Enrollment.PaymentStatus getPaymentStatus();
+}
@@ -0,0 +1,16 @@
+package com.coursemanagement.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Một dòng (sinh viên, bài nộp) của bảng điểm khóa học.
+ * Sinh viên chưa nộp bài nào có một dòng với assignmentId = null
+ */
+public interface GradebookRow {
+    Integer getStudentId();
+    String getFullName();
+    String getEmail();
+    BigDecimal getGrade();
+    Integer getAssignmentId();
+    Integer getScore();
+}
@@ -0,0 +1,11 @@
+package com.coursemanagement.repository.projection;
+
+/**
+ * Các cột hiển thị trên danh sách Instructor
+ */
+public interface InstructorSummary {
+    Integer getInstructorId();
+    String getFullName();
+    String getEmail();
+    String getSpecialization();
+}
@@ -0,0 +1,11 @@
+package com.coursemanagement.repository.projection;
+
+/**
+ * Các cột hiển thị trên danh sách Student
+ */
+public interface StudentSummary {
+    Integer getStudentId();
+    String getFullName();
+    String getEmail();
+    String getPhone();
+}
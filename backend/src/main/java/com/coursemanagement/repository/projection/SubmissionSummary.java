@@ -0,0 +1,20 @@
+package com.coursemanagement.repository.projection;
+
+import com.coursemanagement.entity.Submission;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Các cột hiển thị trên danh sách Submission, không có cột content (TEXT)
+ */
+public interface SubmissionSummary {
+    Integer getSubmissionId();
+    Integer getAssignmentId();
+    Integer getStudentId();
+    Integer getScore();
+    Submission.SubmissionStatus getStatus();
+    LocalDate getSubmittedDate();
+    String getAttachment();
+    LocalDateTime getCreatedAt();
+}
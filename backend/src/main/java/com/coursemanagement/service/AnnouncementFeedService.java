@@ -0,0 +1,279 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.dto.CursorPage;
+import com.coursemanagement.dto.FeedItem;
+import com.coursemanagement.dto.FeedPage;
+import com.coursemanagement.entity.Announcement;
+import com.coursemanagement.entity.FeedReadMarker;
+import com.coursemanagement.repository.AnnouncementRepository;
+import com.coursemanagement.repository.FeedReadMarkerRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feed thông báo của từng sinh viên, dựng sẵn trong bộ nhớ.
+ * Khi tạo thông báo, nó được thêm vào timeline đang có trong cache của mọi
+ * sinh viên trong khóa học; timeline chưa có (hoặc đã hết hạn) được dựng lại
+ * bằng một truy vấn khi sinh viên mở feed. Feed sắp theo mức ưu tiên rồi mới nhất,
+ * số chưa đọc tính theo mốc announcementId sinh viên đã đọc tới (lưu ở bảng feed_read_markers).
+ */
+@Service
+public class AnnouncementFeedService {
+
+    // urgent trước important trước normal, cùng mức thì mới nhất trước
+    private static final Comparator<Announcement> FEED_ORDER = Comparator
+            .comparingInt((Announcement a) -> rank(a.getPriority())).reversed()
+            .thenComparing(Announcement::getAnnouncementId, Comparator.reverseOrder());
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private FeedReadMarkerRepository readMarkerRepository;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Value("${feed.max-items:500}")
+    private int maxItems;
+
+    @Value("${feed.max-cached-students:10000}")
+    private int maxCachedStudents;
+
+    // Dựng lại định kỳ để nhận dữ liệu sửa ngoài API (ứng dụng desktop)
+    @Value("${feed.ttl-ms:600000}")
+    private long ttlMs;
+
+    private Map<Integer, Timeline> timelines;
+    // Sinh viên -> announcementId lớn nhất đã đọc, nạp từ database ở lần đầu cần tới
+    private final Map<Integer, Integer> readUpTo = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        timelines = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Timeline> eldest) {
+                return size() > maxCachedStudents;
+            }
+        });
+    }
+
+    public FeedPage getFeed(Integer studentId, Integer cursor, Integer size) {
+        return timeline(studentId).page(cursor, CursorPage.clampSize(size), watermark(studentId));
+    }
+
+    public int getUnreadCount(Integer studentId) {
+        return timeline(studentId).getUnread();
+    }
+
+    /**
+     * Đánh dấu đã đọc tới upTo (null = tất cả), trả về số chưa đọc còn lại
+     */
+    public int markRead(Integer studentId, Integer upTo) {
+        Timeline timeline = timeline(studentId);
+        int target = upTo != null ? upTo : timeline.getLatestId();
+        int previous = watermark(studentId);
+        int watermark = readUpTo.merge(studentId, target, Math::max);
+        if (watermark > previous) {
+            persistWatermark(studentId, watermark);
+        }
+        return timeline.recount(watermark);
+    }
+
+    /**
+     * Fan-out khi ghi: thêm thông báo vào timeline đang cache của sinh viên trong khóa học
+     */
+    public void announcementCreated(Announcement announcement) {
+        Announcement entry = snapshot(announcement);
+        for (Integer studentId : seatLedger.getStudentIds(announcement.getCourseId())) {
+            Timeline timeline = timelines.get(studentId);
+            if (timeline != null) {
+                timeline.add(entry, watermark(studentId), maxItems);
+            }
+        }
+    }
+
+    public void announcementUpdated(Announcement announcement) {
+        announcementCreated(announcement);
+    }
+
+    public void announcementDeleted(Announcement announcement) {
+        for (Integer studentId : seatLedger.getStudentIds(announcement.getCourseId())) {
+            Timeline timeline = timelines.get(studentId);
+            if (timeline != null) {
+                timeline.remove(announcement.getAnnouncementId(), watermark(studentId));
+            }
+        }
+    }
+
+    /**
+     * Bỏ timeline của sinh viên khi danh sách khóa học đã đăng ký thay đổi
+     */
+    public void invalidate(Integer studentId) {
+        timelines.remove(studentId);
+    }
+
+    private Timeline timeline(Integer studentId) {
+        long now = System.currentTimeMillis();
+        Timeline timeline = timelines.get(studentId);
+        if (timeline != null && !timeline.building && now - timeline.builtAt < ttlMs) {
+            return timeline;
+        }
+        // Đặt chỗ trước khi truy vấn: ghi xen giữa của riêng sinh viên này đánh dấu chỗ
+        // là cũ, còn invalidate thì gỡ chỗ; khi đó bản vừa dựng chỉ trả về, không lưu
+        Timeline pending = new Timeline(now, true);
+        timelines.put(studentId, pending);
+        int watermark = watermark(studentId);
+        Timeline fresh = new Timeline(now, false);
+        for (Announcement announcement : announcementRepository.findLatestForStudent(studentId, PageRequest.of(0, maxItems))) {
+            fresh.add(snapshot(announcement), watermark, maxItems);
+        }
+        synchronized (timelines) {
+            if (timelines.get(studentId) == pending && !pending.isStale()) {
+                timelines.put(studentId, fresh);
+            }
+        }
+        return fresh;
+    }
+
+    private int watermark(Integer studentId) {
+        return readUpTo.computeIfAbsent(studentId, id -> readMarkerRepository.findById(id)
+                .map(FeedReadMarker::getReadUpTo)
+                .orElse(0));
+    }
+
+    private void persistWatermark(Integer studentId, int watermark) {
+        LocalDateTime now = LocalDateTime.now();
+        if (readMarkerRepository.advance(studentId, watermark, now) > 0
+                || readMarkerRepository.existsById(studentId)) {
+            return;
+        }
+        FeedReadMarker marker = new FeedReadMarker();
+        marker.setStudentId(studentId);
+        marker.setReadUpTo(watermark);
+        marker.setUpdatedAt(now);
+        try {
+            readMarkerRepository.save(marker);
+        } catch (DataIntegrityViolationException e) {
+            // Lần đánh dấu đồng thời vừa tạo dòng, chỉ cần tiến mốc
+            readMarkerRepository.advance(studentId, watermark, now);
+        }
+    }
+
+    private static int rank(Announcement.Priority priority) {
+        return priority != null ? priority.ordinal() : 0;
+    }
+
+    // Bản sao dùng chung cho mọi timeline, không bị sửa về sau
+    private static Announcement snapshot(Announcement source) {
+        Announcement copy = new Announcement();
+        copy.setAnnouncementId(source.getAnnouncementId());
+        copy.setCourseId(source.getCourseId());
+        copy.setInstructorId(source.getInstructorId());
+        copy.setTitle(source.getTitle());
+        copy.setContent(source.getContent());
+        copy.setPriority(source.getPriority());
+        copy.setCreatedAt(source.getCreatedAt());
+        return copy;
+    }
+
+    private static class Timeline {
+        private final long builtAt;
+        // Chỗ đặt trước trong lúc đang dựng, không chứa dữ liệu
+        private final boolean building;
+        private boolean stale;
+        private final NavigableSet<Announcement> entries = new TreeSet<>(FEED_ORDER);
+        private final TreeMap<Integer, Announcement> byId = new TreeMap<>();
+        private int unread;
+
+        private Timeline(long builtAt, boolean building) {
+            this.builtAt = builtAt;
+            this.building = building;
+        }
+
+        // Giữ tối đa maxItems thông báo mới nhất
+        synchronized void add(Announcement announcement, int watermark, int maxItems) {
+            if (building) {
+                stale = true;
+                return;
+            }
+            remove(announcement.getAnnouncementId(), watermark);
+            entries.add(announcement);
+            byId.put(announcement.getAnnouncementId(), announcement);
+            if (announcement.getAnnouncementId() > watermark) {
+                unread++;
+            }
+            if (byId.size() > maxItems) {
+                remove(byId.firstKey(), watermark);
+            }
+        }
+
+        synchronized void remove(Integer announcementId, int watermark) {
+            if (building) {
+                stale = true;
+                return;
+            }
+            Announcement previous = byId.remove(announcementId);
+            if (previous != null) {
+                entries.remove(previous);
+                if (announcementId > watermark) {
+                    unread--;
+                }
+            }
+        }
+
+        synchronized FeedPage page(Integer cursor, int size, int watermark) {
+            NavigableSet<Announcement> view = entries;
+            if (cursor != null) {
+                Announcement after = byId.get(cursor);
+                if (after == null) {
+                    throw new RuntimeException("Cursor không hợp lệ, vui lòng tải lại feed");
+                }
+                view = entries.tailSet(after, false);
+            }
+            List<FeedItem> items = new ArrayList<>(Math.min(size, view.size()));
+            Iterator<Announcement> iterator = view.iterator();
+            while (iterator.hasNext() && items.size() < size) {
+                Announcement announcement = iterator.next();
+                items.add(new FeedItem(announcement, announcement.getAnnouncementId() <= watermark));
+            }
+            boolean hasMore = iterator.hasNext();
+            Integer nextCursor = hasMore ? items.get(items.size() - 1).getAnnouncementId() : null;
+            return new FeedPage(items, nextCursor, hasMore, unread);
+        }
+
+        synchronized int recount(int watermark) {
+            unread = byId.tailMap(watermark, false).size();
+            return unread;
+        }
+
+        synchronized boolean isStale() {
+            return stale;
+        }
+
+        synchronized int getUnread() {
+            return unread;
+        }
+
+        synchronized int getLatestId() {
+            return byId.isEmpty() ? 0 : byId.lastKey();
+        }
+    }
+}
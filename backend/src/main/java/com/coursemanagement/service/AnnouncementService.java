@@ -1,7 +1,10 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Announcement;
 import com.coursemanagement.repository.AnnouncementRepository;
+import com.coursemanagement.repository.projection.AnnouncementSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,8 +17,24 @@ public class AnnouncementService {
     @Autowired
     private AnnouncementRepository announcementRepository;
 
-    public List<Announcement> getAllAnnouncements() {
-        return announcementRepository.findAll();
+    @Autowired
+    private AnnouncementFeedService feedService;
+
+    @Autowired
+    private EventBroker eventBroker;
+
+    public CursorPage<Object> getAnnouncementPage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        if (selector.isCoveredBy(AnnouncementSummary.class)) {
+            return CursorPage.of(announcementRepository.findByAnnouncementIdGreaterThanOrderByAnnouncementIdAsc(
+                    after, CursorPage.limit(limit), AnnouncementSummary.class), limit, AnnouncementSummary::getAnnouncementId)
+                    .map(item -> selector.select(item, Announcement.class));
+        }
+        return CursorPage.of(announcementRepository.findByAnnouncementIdGreaterThanOrderByAnnouncementIdAsc(
+                after, CursorPage.limit(limit), Announcement.class), limit, Announcement::getAnnouncementId)
+                .map(item -> selector.select(item, Announcement.class));
     }
 
     public Optional<Announcement> getAnnouncementById(Integer id) {
@@ -23,7 +42,10 @@ public class AnnouncementService {
     }
 
     public Announcement createAnnouncement(Announcement announcement) {
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        feedService.announcementCreated(saved);
+        eventBroker.publish("course:" + saved.getCourseId(), "announcement", saved);
+        return saved;
     }
 
     public Announcement updateAnnouncement(Integer id, Announcement announcementDetails) {
@@ -34,11 +56,16 @@ public class AnnouncementService {
         announcement.setContent(announcementDetails.getContent());
         announcement.setPriority(announcementDetails.getPriority());
         
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        feedService.announcementUpdated(saved);
+        return saved;
     }
 
     public void deleteAnnouncement(Integer id) {
-        announcementRepository.deleteById(id);
+        announcementRepository.findById(id).ifPresent(announcement -> {
+            announcementRepository.delete(announcement);
+            feedService.announcementDeleted(announcement);
+        });
     }
 
     public List<Announcement> getAnnouncementsByCourse(Integer courseId) {
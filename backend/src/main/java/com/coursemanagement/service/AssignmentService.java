@@ -1,7 +1,10 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Assignment;
 import com.coursemanagement.repository.AssignmentRepository;
+import com.coursemanagement.repository.projection.AssignmentSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,8 +17,21 @@ public class AssignmentService {
     @Autowired
     private AssignmentRepository assignmentRepository;
 
-    public List<Assignment> getAllAssignments() {
-        return assignmentRepository.findAll();
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    public CursorPage<Object> getAssignmentPage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        if (selector.isCoveredBy(AssignmentSummary.class)) {
+            return CursorPage.of(assignmentRepository.findByAssignmentIdGreaterThanOrderByAssignmentIdAsc(
+                    after, CursorPage.limit(limit), AssignmentSummary.class), limit, AssignmentSummary::getAssignmentId)
+                    .map(item -> selector.select(item, Assignment.class));
+        }
+        return CursorPage.of(assignmentRepository.findByAssignmentIdGreaterThanOrderByAssignmentIdAsc(
+                after, CursorPage.limit(limit), Assignment.class), limit, Assignment::getAssignmentId)
+                .map(item -> selector.select(item, Assignment.class));
     }
 
     public Optional<Assignment> getAssignmentById(Integer id) {
@@ -23,7 +39,9 @@ public class AssignmentService {
     }
 
     public Assignment createAssignment(Assignment assignment) {
-        return assignmentRepository.save(assignment);
+        Assignment saved = assignmentRepository.save(assignment);
+        dashboardStatsCache.assignmentCreated(saved.getCourseId());
+        return saved;
     }
 
     public Assignment updateAssignment(Integer id, Assignment assignmentDetails) {
@@ -41,7 +59,10 @@ public class AssignmentService {
     }
 
     public void deleteAssignment(Integer id) {
-        assignmentRepository.deleteById(id);
+        assignmentRepository.findById(id).ifPresent(assignment -> {
+            assignmentRepository.delete(assignment);
+            dashboardStatsCache.assignmentDeleted(assignment.getCourseId());
+        });
     }
 
     public List<Assignment> getAssignmentsByCourse(Integer courseId) {
@@ -0,0 +1,165 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.entity.Assignment;
+import com.coursemanagement.entity.Attachment;
+import com.coursemanagement.repository.AssignmentRepository;
+import com.coursemanagement.repository.AttachmentRepository;
+import com.coursemanagement.repository.SubmissionRepository;
+import com.coursemanagement.repository.projection.SubmissionSummary;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+
+/**
+ * Tải lên / tải về file đính kèm của bài nộp.
+ * Nội dung được ghi vào kho theo SHA-256 trước, ngoài transaction, để không giữ
+ * kết nối database trong lúc nhận file lớn; sau đó mới lưu bản ghi.
+ */
+@Service
+public class AttachmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+    private static final long MB = 1024L * 1024L;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AttachmentStore attachmentStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${attachments.course-quota-mb:1024}")
+    private long courseQuotaMb;
+
+    @Value("${attachments.gc-grace-ms:3600000}")
+    private long gcGraceMs;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Gắn file vào bài nộp (thay file cũ nếu có) và cập nhật Submission.attachment
+     * thành đường dẫn tải về
+     */
+    public Attachment upload(Integer submissionId, MultipartFile file) {
+        SubmissionSummary submission = submissionRepository.findSummaryBySubmissionId(submissionId)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy bài nộp"));
+        Integer courseId = assignmentRepository.findById(submission.getAssignmentId())
+            .map(Assignment::getCourseId)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy bài tập"));
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File đính kèm rỗng");
+        }
+        checkQuota(courseId, submissionId, file.getSize());
+
+        AttachmentStore.StoredBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = attachmentStore.store(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Không lưu được file đính kèm", e);
+        }
+
+        Attachment attachment = new Attachment();
+        attachment.setSubmissionId(submissionId);
+        attachment.setCourseId(courseId);
+        attachment.setSha256(blob.getSha256());
+        attachment.setSizeBytes(blob.getSize());
+        attachment.setFileName(cleanFileName(file.getOriginalFilename()));
+        attachment.setContentType(file.getContentType());
+        attachment.setCreatedAt(LocalDateTime.now());
+
+        return transactionTemplate.execute(status -> {
+            // File cũ của bài nộp không còn được tham chiếu, GC sẽ dọn nội dung
+            attachmentRepository.deleteBySubmissionId(submissionId);
+            Attachment saved = attachmentRepository.save(attachment);
+            submissionRepository.updateAttachment(submissionId, downloadPath(saved));
+            return saved;
+        });
+    }
+
+    public Optional<Attachment> getAttachment(Integer id) {
+        return attachmentRepository.findById(id);
+    }
+
+    /**
+     * Nội dung file dạng Resource, Spring MVC tự xử lý header Range (206) khi trả về
+     */
+    public Optional<Resource> openContent(Attachment attachment) {
+        Path path = attachmentStore.resolve(attachment.getSha256());
+        return Files.isReadable(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    /**
+     * Dọn bản ghi của bài nộp đã bị xóa và nội dung không còn bản ghi nào tham chiếu
+     */
+    @Scheduled(fixedDelayString = "${attachments.gc-interval-ms:3600000}",
+               initialDelayString = "${attachments.gc-interval-ms:3600000}")
+    public void collectGarbage() {
+        Integer orphans = transactionTemplate.execute(status -> attachmentRepository.deleteOrphans());
+        int deleted = attachmentStore.collectGarbage(new HashSet<>(attachmentRepository.findAllHashes()), gcGraceMs);
+        if (orphans != null && orphans > 0 || deleted > 0) {
+            log.info("Dọn file đính kèm: {} bản ghi mồ côi, {} file nội dung", orphans, deleted);
+        }
+    }
+
+    // Hạn mức mềm: hai lượt tải lên đồng thời cùng khóa học có thể vượt một chút
+    private void checkQuota(Integer courseId, Integer submissionId, long newSize) {
+        long used = attachmentRepository.sumSizeByCourseId(courseId);
+        for (Attachment previous : attachmentRepository.findBySubmissionId(submissionId)) {
+            used -= previous.getSizeBytes();
+        }
+        long quota = courseQuotaMb * MB;
+        if (used + newSize > quota) {
+            throw new RuntimeException("Khóa học đã vượt hạn mức lưu trữ " + courseQuotaMb + " MB");
+        }
+    }
+
+    private String downloadPath(Attachment attachment) {
+        return contextPath + "/attachments/" + attachment.getAttachmentId() + "/"
+                + UriUtils.encodePathSegment(attachment.getFileName(), StandardCharsets.UTF_8);
+    }
+
+    // Bỏ phần thư mục mà một số trình duyệt gửi kèm tên file
+    private static String cleanFileName(String originalName) {
+        if (originalName == null || originalName.isBlank()) {
+            return "attachment";
+        }
+        String name = originalName.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1).trim();
+        return name.isEmpty() ? "attachment" : name;
+    }
+}
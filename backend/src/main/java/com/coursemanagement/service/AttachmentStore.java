@@ -0,0 +1,159 @@
+package com.coursemanagement.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Kho file theo nội dung trên đĩa: mỗi file được đặt tên theo SHA-256 của nội dung
+ * (blobs/ab/abcd...), nên cùng một nội dung chỉ lưu một lần.
+ * File được ghi thẳng từ stream vào file tạm cùng ổ đĩa rồi đổi tên nguyên tử,
+ * không đọc cả file vào bộ nhớ.
+ */
+@Component
+public class AttachmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentStore.class);
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${attachments.storage-dir:./data/attachments}")
+    private String storageDir;
+
+    private Path blobDir;
+    private Path tempDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(storageDir).toAbsolutePath();
+        blobDir = Files.createDirectories(root.resolve("blobs"));
+        tempDir = Files.createDirectories(root.resolve("tmp"));
+    }
+
+    /**
+     * Ghi nội dung vào kho, trả về SHA-256 và kích thước
+     */
+    public StoredBlob store(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                size = Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(sha256);
+            if (Files.exists(target)) {
+                // Nội dung đã có: làm mới thời gian để GC không xóa trong lúc bản ghi mới đang được lưu
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+            return new StoredBlob(sha256, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path resolve(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Mã nội dung không hợp lệ");
+        }
+        return blobDir.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    /**
+     * Xóa các file không còn được tham chiếu. Chỉ xóa file cũ hơn graceMs
+     * để không đụng tới file vừa tải lên nhưng chưa kịp lưu bản ghi.
+     */
+    public int collectGarbage(Set<String> referenced, long graceMs) {
+        long cutoff = System.currentTimeMillis() - graceMs;
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(blobDir, 2)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String sha256 = file.getFileName().toString();
+                if (!referenced.contains(sha256) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Lỗi dọn kho file đính kèm", e);
+        }
+        // File tạm sót lại khi upload bị ngắt giữa chừng
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(tempDir)) {
+            for (Path temp : temps) {
+                if (Files.getLastModifiedTime(temp).toMillis() < cutoff) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Lỗi dọn file tạm", e);
+        }
+        return deleted;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Upload khác cùng nội dung vừa ghi xong trước
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Như trên
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Kết quả ghi một file vào kho
+     */
+    public static class StoredBlob {
+        private final String sha256;
+        private final long size;
+
+        public StoredBlob(String sha256, long size) {
+            this.sha256 = sha256;
+            this.size = size;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
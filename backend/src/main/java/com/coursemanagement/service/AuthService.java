@@ -27,19 +27,28 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private SearchService searchService;
+
     public LoginResponse login(String username, String password) throws Exception {
         var user = userRepository.findByUsername(username)
             .orElseThrow(() -> new Exception("Tên đăng nhập không tồn tại"));
         
-        // Debug: Log để kiểm tra
-        System.out.println("Login attempt - Username: " + username);
-        System.out.println("Stored password hash: " + user.getPassword());
-        System.out.println("Input password hash: " + PasswordHasher.hashPassword(password));
-        
-        if (!PasswordHasher.verifyPassword(password, user.getPassword())) {
+        if (!passwordHasher.verifyPassword(password, user.getPassword())) {
             throw new Exception("Mật khẩu không đúng");
         }
         
+        // Băm lại mật khẩu cũ (MD5 hoặc độ khó thấp) bằng thuật toán hiện tại
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.hashPassword(password));
+        }
+        
         // Update last login
         user.setLastLogin(LocalDateTime.now());
         userRepository.save(user);
@@ -75,11 +84,13 @@ public class AuthService {
         student.setEnrollmentDate(LocalDate.now());
         student.setCreatedAt(LocalDateTime.now());
         student = studentRepository.save(student);
+        dashboardStatsCache.studentCreated();
+        searchService.indexStudent(student);
         
         // Create user account
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(PasswordHasher.hashPassword(request.getPassword()));
+        user.setPassword(passwordHasher.hashPassword(request.getPassword()));
         user.setEmail(request.getEmail());
         user.setRole(User.UserRole.STUDENT);
         user.setReferenceId(student.getStudentId());
@@ -0,0 +1,89 @@
+package com.coursemanagement.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bộ đếm phiên bản cho các danh sách ít thay đổi (khóa học, giảng viên, đợt đăng ký).
+ * Service tăng phiên bản sau mỗi lần ghi; controller dựng ETag từ phiên bản để trả
+ * 304 mà không cần truy vấn. Phiên bản phải tăng sau khi dữ liệu đã commit, nếu không
+ * một request xen giữa có thể gắn ETag mới cho dữ liệu cũ.
+ */
+@Component
+public class CatalogVersions {
+
+    public static final String COURSES = "courses";
+    public static final String INSTRUCTORS = "instructors";
+    public static final String REGISTRATION_PERIODS = "registration-periods";
+
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+    // Phiên bản bắt đầu lại từ 0 sau khi khởi động, gắn thêm mốc khởi động để ETag không trùng lần chạy trước
+    private final String bootId = Long.toHexString(System.currentTimeMillis());
+
+    public void bump(String collection) {
+        versions.compute(collection, (key, current) -> new Version(current != null ? current.number + 1 : 1));
+    }
+
+    /**
+     * Tăng phiên bản sau khi transaction hiện tại commit (gọi ngay nếu không có transaction)
+     */
+    public void bumpAfterCommit(String collection) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(collection);
+                }
+            });
+        } else {
+            bump(collection);
+        }
+    }
+
+    /**
+     * ETag mạnh cho một danh sách; variant là các tham số làm nội dung khác nhau (cursor, size, fields)
+     */
+    public String etag(String collection, Object... variant) {
+        return "\"" + collection + "-" + bootId + "-" + version(collection).number + "-"
+                + Integer.toHexString(Objects.hash(variant)) + "\"";
+    }
+
+    public long current(String collection) {
+        return version(collection).number;
+    }
+
+    public long lastModified(String collection) {
+        return version(collection).modifiedAt;
+    }
+
+    /**
+     * Dữ liệu có thể bị sửa trực tiếp trong database (ứng dụng desktop),
+     * tăng định kỳ để ETag không được dùng lại quá lâu
+     */
+    @Scheduled(fixedDelayString = "${catalog.version.max-age-ms:600000}",
+               initialDelayString = "${catalog.version.max-age-ms:600000}")
+    public void bumpAll() {
+        bump(COURSES);
+        bump(INSTRUCTORS);
+        bump(REGISTRATION_PERIODS);
+    }
+
+    private Version version(String collection) {
+        return versions.computeIfAbsent(collection, key -> new Version(0));
+    }
+
+    private static class Version {
+        private final long number;
+        private final long modifiedAt = System.currentTimeMillis();
+
+        private Version(long number) {
+            this.number = number;
+        }
+    }
+}
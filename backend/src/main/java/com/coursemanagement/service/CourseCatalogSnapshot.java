@@ -0,0 +1,199 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.dto.CursorPage;
+import com.coursemanagement.entity.Course;
+import com.coursemanagement.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Danh sách khóa học đã chuyển sẵn sang JSON cho GET /courses (không chọn fields).
+ * Mỗi khóa học được serialize một lần thành byte, trang được ghép từ các mảnh này;
+ * trang chứa toàn bộ danh sách còn có sẵn bản gzip. Snapshot gắn với phiên bản
+ * COURSES trong CatalogVersions: khi phiên bản đổi, request vẫn đi đường thường
+ * trong lúc một luồng nền dựng snapshot mới rồi thay bằng một phép gán nguyên tử.
+ */
+@Component
+public class CourseCatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseCatalogSnapshot.class);
+
+    private static final byte[] PAGE_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private ExecutorService rebuildExecutor;
+
+    @PostConstruct
+    public void init() {
+        rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-catalog-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        requestRebuild();
+    }
+
+    /**
+     * Một trang đã serialize; rỗng nếu snapshot chưa có hoặc cũ hơn dữ liệu hiện tại
+     */
+    public Optional<RenderedPage> page(Integer cursor, Integer size, boolean gzip) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || snapshot.version != catalogVersions.current(CatalogVersions.COURSES)) {
+            requestRebuild();
+            return Optional.empty();
+        }
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        int start = Arrays.binarySearch(snapshot.ids, after);
+        start = start >= 0 ? start + 1 : -start - 1;
+        if (start == 0 && snapshot.ids.length <= limit) {
+            return Optional.of(gzip
+                    ? new RenderedPage(snapshot.fullPageGzip, true)
+                    : new RenderedPage(snapshot.fullPage, false));
+        }
+        int end = Math.min(start + limit, snapshot.ids.length);
+        boolean hasMore = end < snapshot.ids.length;
+        Integer nextCursor = hasMore ? snapshot.ids[end - 1] : null;
+        return Optional.of(new RenderedPage(assemblePage(snapshot.items, start, end, nextCursor, hasMore), false));
+    }
+
+    // Chỉ một lần dựng tại một thời điểm, request không bao giờ chờ
+    private void requestRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            try {
+                rebuildExecutor.execute(this::rebuild);
+            } catch (RuntimeException e) {
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    private void rebuild() {
+        boolean built = false;
+        try {
+            // Đọc phiên bản trước khi truy vấn: có ghi xen giữa thì snapshot bị coi là cũ và dựng lại
+            long version = catalogVersions.current(CatalogVersions.COURSES);
+            List<Course> courses = courseRepository.findAll(Sort.by("courseId"));
+            int[] ids = new int[courses.size()];
+            byte[][] items = new byte[courses.size()][];
+            for (int i = 0; i < courses.size(); i++) {
+                ids[i] = courses.get(i).getCourseId();
+                items[i] = objectMapper.writeValueAsBytes(courses.get(i));
+            }
+            byte[] fullPage = assemblePage(items, 0, items.length, null, false);
+            current.set(new Snapshot(version, ids, items, fullPage, gzip(fullPage)));
+            built = true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Không dựng được snapshot danh sách khóa học", e);
+        } finally {
+            rebuilding.set(false);
+        }
+        // Phiên bản đã đổi trong lúc dựng; dựng lỗi thì để request sau thử lại
+        if (built && current.get().version != catalogVersions.current(CatalogVersions.COURSES)) {
+            requestRebuild();
+        }
+    }
+
+    // Cùng định dạng JSON với CursorPage
+    private static byte[] assemblePage(byte[][] items, int start, int end, Integer nextCursor, boolean hasMore) {
+        int length = PAGE_START.length + 64;
+        for (int i = start; i < end; i++) {
+            length += items[i].length + 1;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.writeBytes(PAGE_START);
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                out.write(',');
+            }
+            out.writeBytes(items[i]);
+        }
+        out.writeBytes(("],\"nextCursor\":" + nextCursor + ",\"hasMore\":" + hasMore + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Nội dung trang đã serialize, có thể đã nén gzip
+     */
+    public static class RenderedPage {
+        private final byte[] body;
+        private final boolean gzipped;
+
+        private RenderedPage(byte[] body, boolean gzipped) {
+            this.body = body;
+            this.gzipped = gzipped;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public boolean isGzipped() {
+            return gzipped;
+        }
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final int[] ids;
+        private final byte[][] items;
+        private final byte[] fullPage;
+        private final byte[] fullPageGzip;
+
+        private Snapshot(long version, int[] ids, byte[][] items, byte[] fullPage, byte[] fullPageGzip) {
+            this.version = version;
+            this.ids = ids;
+            this.items = items;
+            this.fullPage = fullPage;
+            this.fullPageGzip = fullPageGzip;
+        }
+    }
+}
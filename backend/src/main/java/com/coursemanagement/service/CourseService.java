@@ -1,7 +1,10 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Course;
 import com.coursemanagement.repository.CourseRepository;
+import com.coursemanagement.repository.projection.CourseSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,8 +17,30 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    public CursorPage<Object> getCoursePage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        if (selector.isCoveredBy(CourseSummary.class)) {
+            return CursorPage.of(courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(
+                    after, CursorPage.limit(limit), CourseSummary.class), limit, CourseSummary::getCourseId)
+                    .map(item -> selector.select(item, Course.class));
+        }
+        return CursorPage.of(courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(
+                after, CursorPage.limit(limit), Course.class), limit, Course::getCourseId)
+                .map(item -> selector.select(item, Course.class));
     }
 
     public Optional<Course> getCourseById(Integer id) {
@@ -23,7 +48,12 @@ public class CourseService {
     }
 
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        seatLedger.registerCourse(saved.getCourseId(), saved.getMaxStudents());
+        dashboardStatsCache.courseCreated(saved.getCourseId(), saved.getInstructorId());
+        searchService.indexCourse(saved);
+        catalogVersions.bump(CatalogVersions.COURSES);
+        return saved;
     }
 
     public Course updateCourse(Integer id, Course courseDetails) {
@@ -39,17 +69,32 @@ public class CourseService {
         course.setMaxStudents(courseDetails.getMaxStudents());
         course.setStatus(courseDetails.getStatus());
         
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        seatLedger.updateCapacity(id, saved.getMaxStudents());
+        dashboardStatsCache.courseInstructorChanged(id, saved.getInstructorId());
+        searchService.indexCourse(saved);
+        catalogVersions.bump(CatalogVersions.COURSES);
+        return saved;
     }
 
     public void deleteCourse(Integer id) {
-        courseRepository.deleteById(id);
+        courseRepository.findById(id).ifPresent(course -> {
+            courseRepository.delete(course);
+            seatLedger.removeCourse(id);
+            dashboardStatsCache.courseDeleted(id);
+            searchService.removeCourse(id);
+            catalogVersions.bump(CatalogVersions.COURSES);
+        });
     }
 
     public List<Course> getCoursesByInstructor(Integer instructorId) {
         return courseRepository.findByInstructorId(instructorId);
     }
 
+    public List<Course> getCoursesByPeriod(Integer periodId) {
+        return courseRepository.findByPeriodId(periodId);
+    }
+
     public List<Course> getCoursesByStatus(Course.CourseStatus status) {
         return courseRepository.findByStatus(status);
     }
@@ -0,0 +1,306 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.repository.AssignmentRepository;
+import com.coursemanagement.repository.CourseRepository;
+import com.coursemanagement.repository.EnrollmentRepository;
+import com.coursemanagement.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Bộ đếm thống kê dashboard giữ trong bộ nhớ.
+ * Các service cập nhật tăng/giảm khi tạo hoặc xóa dữ liệu, job định kỳ
+ * đếm lại từ database để sửa sai lệch. Thay đổi đến trong lúc đếm lại được
+ * ghi nhật ký và áp lên bộ đếm mới trước khi thay, nên không bị mất.
+ */
+@Component
+public class DashboardStatsCache {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Counters counters = new Counters();
+    // Cập nhật giữ read lock (chạy song song), thay bộ đếm giữ write lock
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Khác null trong lúc reconcile: các cập nhật đến trong lúc đó
+    private Queue<Consumer<Counters>> journal;
+    private TransactionTemplate snapshotTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Các câu đếm đọc cùng một snapshot
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setReadOnly(true);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Đếm lại toàn bộ từ database và thay thế bộ đếm hiện tại
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${dashboard.stats.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        Queue<Consumer<Counters>> pending = new ConcurrentLinkedQueue<>();
+        setJournal(pending);
+        Counters fresh;
+        try {
+            fresh = snapshotTemplate.execute(status -> count());
+        } catch (RuntimeException e) {
+            setJournal(null);
+            throw e;
+        }
+        swapLock.writeLock().lock();
+        try {
+            for (Consumer<Counters> update : pending) {
+                update.accept(fresh);
+            }
+            counters = fresh;
+            journal = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void setJournal(Queue<Consumer<Counters>> pending) {
+        swapLock.writeLock().lock();
+        try {
+            journal = pending;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private Counters count() {
+        Counters fresh = new Counters();
+        fresh.courses.set(courseRepository.count());
+        fresh.students.set(studentRepository.count());
+        fresh.assignments.set(assignmentRepository.count());
+        fresh.enrollments.set(enrollmentRepository.count());
+
+        for (Object[] row : courseRepository.findAllInstructorIds()) {
+            Integer courseId = (Integer) row[0];
+            Integer instructorId = (Integer) row[1];
+            fresh.course(courseId);
+            if (instructorId != null) {
+                fresh.courseInstructor.put(courseId, instructorId);
+                fresh.instructor(instructorId).courses.incrementAndGet();
+            }
+        }
+        for (Object[] row : enrollmentRepository.countGroupByCourseId()) {
+            Integer courseId = (Integer) row[0];
+            long count = (Long) row[1];
+            fresh.course(courseId).enrollments.set(count);
+            Integer instructorId = fresh.courseInstructor.get(courseId);
+            if (instructorId != null) {
+                fresh.instructor(instructorId).enrollments.addAndGet(count);
+            }
+        }
+        for (Object[] row : assignmentRepository.countGroupByCourseId()) {
+            fresh.course((Integer) row[0]).assignments.set((Long) row[1]);
+        }
+        return fresh;
+    }
+
+    // Áp lên bộ đếm hiện tại và ghi nhật ký nếu đang reconcile
+    private void update(Consumer<Counters> update) {
+        swapLock.readLock().lock();
+        try {
+            update.accept(counters);
+            Queue<Consumer<Counters>> pending = journal;
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Counters current = counters;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCourses", current.courses.get());
+        stats.put("totalStudents", current.students.get());
+        stats.put("totalAssignments", current.assignments.get());
+        stats.put("totalEnrollments", current.enrollments.get());
+        return stats;
+    }
+
+    public Map<String, Object> getCourseStats(Integer courseId) {
+        CourseStats courseStats = counters.perCourse.get(courseId);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("courseId", courseId);
+        stats.put("totalEnrollments", courseStats != null ? courseStats.enrollments.get() : 0L);
+        stats.put("totalAssignments", courseStats != null ? courseStats.assignments.get() : 0L);
+        return stats;
+    }
+
+    public Map<String, Object> getInstructorStats(Integer instructorId) {
+        InstructorStats instructorStats = counters.perInstructor.get(instructorId);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("instructorId", instructorId);
+        stats.put("totalCourses", instructorStats != null ? instructorStats.courses.get() : 0L);
+        stats.put("totalEnrollments", instructorStats != null ? instructorStats.enrollments.get() : 0L);
+        return stats;
+    }
+
+    // Cập nhật tăng dần từ tầng service
+    public void courseCreated(Integer courseId, Integer instructorId) {
+        update(current -> {
+            current.courses.incrementAndGet();
+            current.course(courseId);
+            if (instructorId != null) {
+                current.courseInstructor.put(courseId, instructorId);
+                current.instructor(instructorId).courses.incrementAndGet();
+            }
+        });
+    }
+
+    public void courseInstructorChanged(Integer courseId, Integer instructorId) {
+        update(current -> changeInstructor(current, courseId, instructorId));
+    }
+
+    private static void changeInstructor(Counters current, Integer courseId, Integer instructorId) {
+        Integer previous = instructorId != null
+                ? current.courseInstructor.put(courseId, instructorId)
+                : current.courseInstructor.remove(courseId);
+        if (previous != null && previous.equals(instructorId)) {
+            return;
+        }
+        CourseStats courseStats = current.course(courseId);
+        long enrollments = courseStats.enrollments.get();
+        if (previous != null) {
+            InstructorStats old = current.instructor(previous);
+            old.courses.decrementAndGet();
+            old.enrollments.addAndGet(-enrollments);
+        }
+        if (instructorId != null) {
+            InstructorStats now = current.instructor(instructorId);
+            now.courses.incrementAndGet();
+            now.enrollments.addAndGet(enrollments);
+        }
+    }
+
+    public void courseDeleted(Integer courseId) {
+        update(current -> {
+            current.courses.decrementAndGet();
+            CourseStats courseStats = current.perCourse.remove(courseId);
+            Integer instructorId = current.courseInstructor.remove(courseId);
+            if (instructorId != null) {
+                InstructorStats instructorStats = current.instructor(instructorId);
+                instructorStats.courses.decrementAndGet();
+                if (courseStats != null) {
+                    instructorStats.enrollments.addAndGet(-courseStats.enrollments.get());
+                }
+            }
+        });
+    }
+
+    public void studentCreated() {
+        studentsCreated(1);
+    }
+
+    /**
+     * Cộng nhiều sinh viên một lần (import hàng loạt)
+     */
+    public void studentsCreated(long count) {
+        update(current -> current.students.addAndGet(count));
+    }
+
+    public void studentDeleted() {
+        update(current -> current.students.decrementAndGet());
+    }
+
+    public void assignmentCreated(Integer courseId) {
+        update(current -> {
+            current.assignments.incrementAndGet();
+            if (courseId != null) {
+                current.course(courseId).assignments.incrementAndGet();
+            }
+        });
+    }
+
+    public void assignmentDeleted(Integer courseId) {
+        update(current -> {
+            current.assignments.decrementAndGet();
+            if (courseId != null) {
+                current.course(courseId).assignments.decrementAndGet();
+            }
+        });
+    }
+
+    public void enrollmentCreated(Integer courseId) {
+        addEnrollments(courseId, 1);
+    }
+
+    public void enrollmentDeleted(Integer courseId) {
+        addEnrollments(courseId, -1);
+    }
+
+    private void addEnrollments(Integer courseId, long delta) {
+        update(current -> {
+            current.enrollments.addAndGet(delta);
+            current.course(courseId).enrollments.addAndGet(delta);
+            Integer instructorId = current.courseInstructor.get(courseId);
+            if (instructorId != null) {
+                current.instructor(instructorId).enrollments.addAndGet(delta);
+            }
+        });
+    }
+
+    private static class Counters {
+        private final AtomicLong courses = new AtomicLong();
+        private final AtomicLong students = new AtomicLong();
+        private final AtomicLong assignments = new AtomicLong();
+        private final AtomicLong enrollments = new AtomicLong();
+        private final Map<Integer, CourseStats> perCourse = new ConcurrentHashMap<>();
+        private final Map<Integer, InstructorStats> perInstructor = new ConcurrentHashMap<>();
+        private final Map<Integer, Integer> courseInstructor = new ConcurrentHashMap<>();
+
+        private CourseStats course(Integer courseId) {
+            return perCourse.computeIfAbsent(courseId, id -> new CourseStats());
+        }
+
+        private InstructorStats instructor(Integer instructorId) {
+            return perInstructor.computeIfAbsent(instructorId, id -> new InstructorStats());
+        }
+    }
+
+    private static class CourseStats {
+        private final AtomicLong enrollments = new AtomicLong();
+        private final AtomicLong assignments = new AtomicLong();
+    }
+
+    private static class InstructorStats {
+        private final AtomicLong courses = new AtomicLong();
+        private final AtomicLong enrollments = new AtomicLong();
+    }
+}
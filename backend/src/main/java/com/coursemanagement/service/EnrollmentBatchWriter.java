@@ -0,0 +1,188 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.entity.Enrollment;
+import com.coursemanagement.exception.ServiceUnavailableException;
+import com.coursemanagement.repository.EnrollmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gom các đăng ký đã giữ chỗ thành từng lô và ghi xuống database
+ * trong một transaction, thay vì mỗi request một transaction riêng.
+ */
+@Component
+public class EnrollmentBatchWriter {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${enrollment.batch.size:100}")
+    private int batchSize;
+
+    @Value("${enrollment.batch.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${enrollment.batch.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        worker = new Thread(this::run, "enrollment-batch-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(timeoutMs);
+    }
+
+    /**
+     * Đưa đăng ký vào hàng đợi và chờ lô chứa nó được ghi xong.
+     * Hết thời gian chờ mà luồng ghi chưa nhận bản ghi thì hủy và báo lỗi;
+     * luồng ghi đã nhận rồi thì chờ kết quả thật, vì bản ghi có thể đã được commit.
+     */
+    public Enrollment write(Enrollment enrollment) {
+        PendingWrite pending = new PendingWrite(enrollment);
+        queue.add(pending);
+        boolean interrupted = false;
+        try {
+            try {
+                return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.cancel()) {
+                    throw new ServiceUnavailableException("Hệ thống đang quá tải, vui lòng thử lại");
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                if (pending.cancel()) {
+                    throw new ServiceUnavailableException("Yêu cầu đăng ký bị gián đoạn");
+                }
+            }
+            while (true) {
+                try {
+                    return pending.future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Lỗi lưu đăng ký", e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // Nhận từng bản ghi trước khi ghi; bản ghi đã bị người gọi hủy thì bỏ qua
+        List<PendingWrite> live = batch.stream()
+                .filter(PendingWrite::claim)
+                .toList();
+        if (live.isEmpty()) {
+            return;
+        }
+        try {
+            List<Enrollment> saved = transactionTemplate.execute(status ->
+                    enrollmentRepository.saveAll(live.stream().map(p -> p.enrollment).toList()));
+            for (int i = 0; i < live.size(); i++) {
+                live.get(i).future.complete(saved.get(i));
+            }
+        } catch (RuntimeException batchError) {
+            // Một bản ghi lỗi làm hỏng cả lô, ghi lại từng bản ghi để cô lập lỗi
+            for (PendingWrite pending : live) {
+                // ID đã sinh trong transaction bị rollback không còn hợp lệ
+                pending.enrollment.setEnrollmentId(null);
+                try {
+                    pending.future.complete(transactionTemplate.execute(status ->
+                            enrollmentRepository.save(pending.enrollment)));
+                } catch (RuntimeException e) {
+                    pending.future.completeExceptionally(ServiceUnavailableException.isTransient(e)
+                            ? new ServiceUnavailableException("Hệ thống đang quá tải, vui lòng thử lại", e)
+                            : e);
+                }
+            }
+        }
+    }
+
+    private static class PendingWrite {
+        private static final int PENDING = 0;
+        private static final int CLAIMED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Enrollment enrollment;
+        private final CompletableFuture<Enrollment> future = new CompletableFuture<>();
+        // Luồng ghi (claim) và người gọi hết thời gian chờ (cancel) tranh nhau, chỉ một bên thắng
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private PendingWrite(Enrollment enrollment) {
+            this.enrollment = enrollment;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(PENDING, CLAIMED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Enrollment;
 import com.coursemanagement.repository.EnrollmentRepository;
+import com.coursemanagement.repository.projection.EnrollmentSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,8 +17,33 @@ public class EnrollmentService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
-    public List<Enrollment> getAllEnrollments() {
-        return enrollmentRepository.findAll();
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private EnrollmentBatchWriter enrollmentBatchWriter;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private RegistrationPeriodScheduler periodScheduler;
+
+    @Autowired
+    private AnnouncementFeedService feedService;
+
+    public CursorPage<Object> getEnrollmentPage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        if (selector.isCoveredBy(EnrollmentSummary.class)) {
+            return CursorPage.of(enrollmentRepository.findByEnrollmentIdGreaterThanOrderByEnrollmentIdAsc(
+                    after, CursorPage.limit(limit), EnrollmentSummary.class), limit, EnrollmentSummary::getEnrollmentId)
+                    .map(item -> selector.select(item, Enrollment.class));
+        }
+        return CursorPage.of(enrollmentRepository.findByEnrollmentIdGreaterThanOrderByEnrollmentIdAsc(
+                after, CursorPage.limit(limit), Enrollment.class), limit, Enrollment::getEnrollmentId)
+                .map(item -> selector.select(item, Enrollment.class));
     }
 
     public Optional<Enrollment> getEnrollmentById(Integer id) {
@@ -23,12 +51,43 @@ public class EnrollmentService {
     }
 
     public Enrollment createEnrollment(Enrollment enrollment) {
-        // Check if enrollment already exists
-        if (enrollmentRepository.existsByStudentIdAndCourseId(
-                enrollment.getStudentId(), enrollment.getCourseId())) {
-            throw new RuntimeException("Sinh viên đã đăng ký khóa học này");
+        Integer studentId = enrollment.getStudentId();
+        Integer courseId = enrollment.getCourseId();
+        if (studentId == null || courseId == null) {
+            throw new RuntimeException("Thiếu thông tin sinh viên hoặc khóa học");
         }
-        return enrollmentRepository.save(enrollment);
+
+        // Kiểm tra đợt đăng ký trong bộ nhớ, không truy vấn database.
+        // Đăng ký không kèm đợt (admin ghi danh trực tiếp) được gắn vào đợt đang mở nếu có
+        if (enrollment.getPeriodId() == null) {
+            enrollment.setPeriodId(periodScheduler.findActivePeriodId(courseId));
+        } else if (!periodScheduler.isCourseOpen(courseId, enrollment.getPeriodId())) {
+            throw new RuntimeException("Khóa học không mở đăng ký trong đợt này");
+        }
+
+        // Giữ chỗ trong bộ nhớ trước, chỉ ghi DB khi còn chỗ
+        switch (seatLedger.reserve(courseId, studentId)) {
+            case DUPLICATE:
+                throw new RuntimeException("Sinh viên đã đăng ký khóa học này");
+            case FULL:
+                throw new RuntimeException("Khóa học đã đủ số lượng sinh viên");
+            case COURSE_NOT_FOUND:
+                throw new RuntimeException("Không tìm thấy khóa học");
+            default:
+                break;
+        }
+
+        Enrollment saved;
+        try {
+            saved = enrollmentBatchWriter.write(enrollment);
+        } catch (RuntimeException e) {
+            // Chỉ lỗi khi bản ghi chắc chắn không được ghi (bị hủy trước khi vào lô hoặc lô lỗi)
+            seatLedger.release(courseId, studentId);
+            throw e;
+        }
+        dashboardStatsCache.enrollmentCreated(courseId);
+        feedService.invalidate(studentId);
+        return saved;
     }
 
     public Enrollment updateEnrollment(Integer id, Enrollment enrollmentDetails) {
@@ -43,7 +102,12 @@ public class EnrollmentService {
     }
 
     public void deleteEnrollment(Integer id) {
-        enrollmentRepository.deleteById(id);
+        enrollmentRepository.findById(id).ifPresent(enrollment -> {
+            enrollmentRepository.delete(enrollment);
+            seatLedger.release(enrollment.getCourseId(), enrollment.getStudentId());
+            dashboardStatsCache.enrollmentDeleted(enrollment.getCourseId());
+            feedService.invalidate(enrollment.getStudentId());
+        });
     }
 
     public List<Enrollment> getEnrollmentsByStudent(Integer studentId) {
@@ -0,0 +1,44 @@
+package com.coursemanagement.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Xóa second-level cache sau các lần ghi không đi qua Hibernate (JdbcTemplate, import CSV).
+ * Hibernate không biết các lần ghi này nên không tự vô hiệu hóa region của entity
+ * và query cache; nếu không xóa, dữ liệu cũ được trả về cho đến khi region hết hạn.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Xóa region của các entity và toàn bộ query cache, sau khi transaction hiện tại
+     * commit (gọi ngay nếu không có transaction)
+     */
+    public void evictAfterCommit(Class<?>... entityClasses) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(entityClasses);
+                }
+            });
+        } else {
+            evict(entityClasses);
+        }
+    }
+
+    public void evict(Class<?>... entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            entityManagerFactory.getCache().evict(entityClass);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
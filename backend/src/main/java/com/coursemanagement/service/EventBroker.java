@@ -0,0 +1,449 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Broker sự kiện trong tiến trình cho kết nối Server-Sent Events.
+ * Mỗi kênh (course:{id}, student:{id}) giữ một ring buffer có giới hạn; người
+ * phát chỉ ghi vào buffer và đánh thức subscriber, việc ghi ra socket do một
+ * pool nhỏ đảm nhận nên kết nối rảnh không chiếm luồng nào. Subscriber chậm
+ * tụt quá buffer nhận sự kiện "resync" để tự tải lại thay vì bị xếp hàng vô hạn.
+ * Lần ghi bị treo quá events.send-timeout-ms (socket của client đầy) thì subscriber
+ * bị ngắt và pool được bù một luồng, để kết nối treo không chặn các subscriber khác.
+ */
+@Component
+public class EventBroker {
+
+    private static final Pattern CHANNEL = Pattern.compile("(course|student):\\d+");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${events.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${events.max-channels-per-subscriber:50}")
+    private int maxChannelsPerSubscriber;
+
+    @Value("${events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${events.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${events.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    @Value("${events.send-check-ms:1000}")
+    private long sendCheckMs;
+
+    // Số luồng bù tối đa cho các lần ghi đang treo, quá mức này thì chờ socket timeout
+    @Value("${events.max-stalled-senders:16}")
+    private int maxStalledSenders;
+
+    // Kênh không còn subscriber và không có sự kiện mới trong khoảng này thì bị bỏ
+    @Value("${events.channel-idle-ms:600000}")
+    private long channelIdleMs;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscriber đang được một luồng drain ghi ra socket
+    private final Set<Subscriber> draining = ConcurrentHashMap.newKeySet();
+    // Id sự kiện tăng dần trên mọi kênh, client gửi lại qua Last-Event-ID khi kết nối lại
+    private final AtomicLong sequence = new AtomicLong();
+    private ThreadPoolExecutor sender;
+    // Luồng riêng cho checkStalledSends, không phụ thuộc các job @Scheduled khác
+    private ScheduledExecutorService watchdog;
+    private int stalledSenders;
+    private Counter published;
+    private Counter stalled;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(this::checkStalledSends, sendCheckMs, sendCheckMs, TimeUnit.MILLISECONDS);
+        published = Counter.builder("events.published")
+                .description("Số sự kiện đã phát vào broker")
+                .register(meterRegistry);
+        stalled = Counter.builder("events.stalled")
+                .description("Số subscriber bị ngắt vì ghi ra socket quá thời gian")
+                .register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("events.subscribers", Collections.emptyList(), subscribers);
+        meterRegistry.gaugeMapSize("events.channels", Collections.emptyList(), channels);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        sender.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * Mở kết nối SSE cho các kênh; lastEventId khác null thì phát lại các sự kiện
+     * còn trong buffer sau id đó
+     */
+    public SseEmitter subscribe(Collection<String> channelNames, Long lastEventId) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : channelNames) {
+            String trimmed = name.trim();
+            if (!CHANNEL.matcher(trimmed).matches()) {
+                throw new RuntimeException("Kênh không hợp lệ: " + trimmed);
+            }
+            names.add(trimmed);
+        }
+        if (names.isEmpty() || names.size() > maxChannelsPerSubscriber) {
+            throw new RuntimeException("Số kênh phải từ 1 đến " + maxChannelsPerSubscriber);
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Máy chủ đã đủ số kết nối, vui lòng thử lại sau");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        for (String name : names) {
+            Channel channel = channels.compute(name, (key, existing) -> {
+                Channel target = existing != null ? existing : new Channel(key, bufferSize);
+                target.subscribers.add(subscriber);
+                return target;
+            });
+            subscriber.cursors.put(channel, lastEventId != null ? lastEventId : channel.latestSeq);
+        }
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        // Đến đây mới cho phép drain, lần drain đầu gửi luôn các sự kiện phát trong lúc đăng ký
+        subscriber.scheduled.set(false);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Phát một sự kiện vào kênh, payload được chuyển sang JSON một lần cho mọi subscriber
+     */
+    public void publish(String channelName, String eventName, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Không chuyển được sự kiện sang JSON", e);
+        }
+        Channel channel = channels.computeIfAbsent(channelName, key -> new Channel(key, bufferSize));
+        channel.append(eventName, data, sequence);
+        published.increment();
+        for (Subscriber subscriber : channel.subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Gửi comment giữ kết nối qua proxy và dọn các kênh không còn dùng
+     */
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat = true;
+            schedule(subscriber);
+        }
+        long now = System.currentTimeMillis();
+        for (String name : channels.keySet()) {
+            channels.computeIfPresent(name, (key, channel) ->
+                    channel.subscribers.isEmpty() && now - channel.lastPublishAt > channelIdleMs ? null : channel);
+        }
+    }
+
+    /**
+     * Ngắt subscriber có lần ghi treo quá send-timeout-ms và bù luồng cho pool.
+     * Luồng đang treo vẫn chờ tới khi socket trả về; emitter được đóng ngay sau đó
+     */
+    void checkStalledSends() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : draining) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt == 0 || now - startedAt <= sendTimeoutMs) {
+                continue;
+            }
+            synchronized (this) {
+                // Kiểm tra lại trong khóa: drain có thể vừa kết thúc
+                if (subscriber.stalled || !draining.contains(subscriber)) {
+                    continue;
+                }
+                subscriber.stalled = true;
+                if (stalledSenders < maxStalledSenders) {
+                    stalledSenders++;
+                    subscriber.compensated = true;
+                    resizeSender();
+                }
+            }
+            stalled.increment();
+            close(subscriber);
+        }
+    }
+
+    // Gọi trong synchronized (this)
+    private void resizeSender() {
+        int size = senderThreads + stalledSenders;
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled.set(false);
+        }
+    }
+
+    // Chỉ một luồng drain cho mỗi subscriber tại một thời điểm (cờ scheduled)
+    private void drain(Subscriber subscriber) {
+        draining.add(subscriber);
+        try {
+            while (true) {
+                sendPending(subscriber);
+                subscriber.scheduled.set(false);
+                if (subscriber.closed || !subscriber.hasPending()
+                        || !subscriber.scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.closed = true;
+            subscriber.scheduled.set(false);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            synchronized (this) {
+                draining.remove(subscriber);
+                if (subscriber.compensated) {
+                    subscriber.compensated = false;
+                    stalledSenders--;
+                    resizeSender();
+                }
+            }
+            if (subscriber.stalled) {
+                subscriber.emitter.completeWithError(new IOException("Ghi sự kiện quá thời gian"));
+            }
+        }
+    }
+
+    // Ghi lại thời điểm bắt đầu để checkStalledSends phát hiện socket bị treo
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        if (subscriber.stalled) {
+            throw new IOException("Subscriber đã bị ngắt");
+        }
+        subscriber.sendStartedAt = System.currentTimeMillis();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedAt = 0;
+        }
+    }
+
+    private void sendPending(Subscriber subscriber) throws IOException {
+        if (!subscriber.connected) {
+            subscriber.connected = true;
+            send(subscriber, SseEmitter.event().comment("connected"));
+        }
+        List<Event> batch = new ArrayList<>();
+        for (Map.Entry<Channel, Long> entry : subscriber.cursors.entrySet()) {
+            Channel channel = entry.getKey();
+            Slice slice = channel.after(entry.getValue());
+            if (slice.gap) {
+                batch.add(new Event(slice.latestSeq, "resync", "{\"channel\":\"" + channel.name + "\"}"));
+            } else {
+                batch.addAll(slice.events);
+            }
+            entry.setValue(slice.latestSeq);
+        }
+        if (batch.isEmpty()) {
+            if (subscriber.heartbeat) {
+                subscriber.heartbeat = false;
+                send(subscriber, SseEmitter.event().comment("ping"));
+            }
+            return;
+        }
+        subscriber.heartbeat = false;
+        batch.sort(Comparator.comparingLong(event -> event.seq));
+        for (Event event : batch) {
+            send(subscriber, SseEmitter.event()
+                    .id(String.valueOf(event.seq))
+                    .name(event.name)
+                    .data(event.data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            for (Channel channel : subscriber.cursors.keySet()) {
+                channel.subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private static class Event {
+        private final long seq;
+        private final String name;
+        private final String data;
+
+        private Event(long seq, String name, String data) {
+            this.seq = seq;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static class Slice {
+        private final List<Event> events;
+        private final boolean gap;
+        private final long latestSeq;
+
+        private Slice(List<Event> events, boolean gap, long latestSeq) {
+            this.events = events;
+            this.gap = gap;
+            this.latestSeq = latestSeq;
+        }
+    }
+
+    private static class Channel {
+        private final String name;
+        private final Event[] ring;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private int head;
+        private int count;
+        // Id lớn nhất đã bị ghi đè khỏi buffer
+        private long evictedSeq;
+        private volatile long latestSeq;
+        private volatile long lastPublishAt = System.currentTimeMillis();
+
+        private Channel(String name, int capacity) {
+            this.name = name;
+            this.ring = new Event[capacity];
+        }
+
+        synchronized void append(String eventName, String data, AtomicLong sequence) {
+            Event event = new Event(sequence.incrementAndGet(), eventName, data);
+            if (count == ring.length) {
+                evictedSeq = ring[head].seq;
+            } else {
+                count++;
+            }
+            ring[head] = event;
+            head = (head + 1) % ring.length;
+            latestSeq = event.seq;
+            lastPublishAt = System.currentTimeMillis();
+        }
+
+        // Các sự kiện sau cursor; gap = có sự kiện đã bị ghi đè trước khi kịp gửi
+        synchronized Slice after(long cursor) {
+            if (cursor >= latestSeq) {
+                return new Slice(Collections.emptyList(), false, latestSeq);
+            }
+            if (cursor < evictedSeq) {
+                return new Slice(Collections.emptyList(), true, latestSeq);
+            }
+            List<Event> events = new ArrayList<>();
+            int start = (head - count + ring.length) % ring.length;
+            for (int i = 0; i < count; i++) {
+                Event event = ring[(start + i) % ring.length];
+                if (event.seq > cursor) {
+                    events.add(event);
+                }
+            }
+            return new Slice(events, false, latestSeq);
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        // Kênh -> id sự kiện cuối cùng đã gửi, chỉ luồng drain sửa giá trị
+        private final Map<Channel, Long> cursors = new HashMap<>();
+        // Khởi tạo true để không drain khi subscribe chưa xong
+        private final AtomicBoolean scheduled = new AtomicBoolean(true);
+        private volatile boolean closed;
+        private volatile boolean heartbeat;
+        // Thời điểm bắt đầu lần ghi hiện tại, 0 khi không ghi
+        private volatile long sendStartedAt;
+        private volatile boolean stalled;
+        private boolean compensated;
+        private boolean connected;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean hasPending() {
+            if (heartbeat) {
+                return true;
+            }
+            for (Map.Entry<Channel, Long> entry : cursors.entrySet()) {
+                if (entry.getKey().latestSeq > entry.getValue()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
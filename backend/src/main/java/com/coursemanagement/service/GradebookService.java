@@ -0,0 +1,85 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.entity.Assignment;
+import com.coursemanagement.repository.AssignmentRepository;
+import com.coursemanagement.repository.EnrollmentRepository;
+import com.coursemanagement.repository.projection.GradebookRow;
+import com.coursemanagement.util.RowWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Xuất bảng điểm của khóa học: mỗi dòng một sinh viên, mỗi cột một bài tập.
+ * Dữ liệu được đọc dạng stream và xoay cột theo từng sinh viên nên bộ nhớ
+ * dùng không phụ thuộc số sinh viên của khóa học.
+ */
+@Service
+public class GradebookService {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    /**
+     * Ghi bảng điểm ra writer. Transaction phải mở trong suốt quá trình ghi
+     * vì stream giữ kết quả truy vấn đang mở
+     */
+    @Transactional(readOnly = true)
+    public void writeGradebook(Integer courseId, RowWriter writer) throws IOException {
+        List<Assignment> assignments = assignmentRepository.findByCourseIdOrderByDueDateAscAssignmentIdAsc(courseId);
+
+        List<Object> header = new ArrayList<>();
+        header.add("Mã sinh viên");
+        header.add("Họ tên");
+        header.add("Email");
+        for (Assignment assignment : assignments) {
+            header.add(assignment.getTitle());
+        }
+        header.add("Điểm tổng kết");
+        writer.writeRow(header);
+
+        try (Stream<GradebookRow> rows = enrollmentRepository.streamGradebook(courseId)) {
+            Iterator<GradebookRow> iterator = rows.iterator();
+            GradebookRow student = null;
+            Map<Integer, Integer> scores = new HashMap<>();
+            while (iterator.hasNext()) {
+                GradebookRow row = iterator.next();
+                if (student != null && !student.getStudentId().equals(row.getStudentId())) {
+                    writer.writeRow(toLine(student, scores, assignments));
+                    scores.clear();
+                }
+                student = row;
+                if (row.getAssignmentId() != null) {
+                    scores.put(row.getAssignmentId(), row.getScore());
+                }
+            }
+            if (student != null) {
+                writer.writeRow(toLine(student, scores, assignments));
+            }
+        }
+        writer.finish();
+    }
+
+    private List<Object> toLine(GradebookRow student, Map<Integer, Integer> scores, List<Assignment> assignments) {
+        List<Object> line = new ArrayList<>(assignments.size() + 4);
+        line.add(student.getStudentId());
+        line.add(student.getFullName());
+        line.add(student.getEmail());
+        for (Assignment assignment : assignments) {
+            line.add(scores.get(assignment.getAssignmentId()));
+        }
+        line.add(student.getGrade());
+        return line;
+    }
+}
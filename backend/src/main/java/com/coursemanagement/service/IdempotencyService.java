@@ -0,0 +1,165 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.entity.IdempotencyRecord;
+import com.coursemanagement.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lưu response của các request ghi có Idempotency-Key để client retry
+ * nhận lại đúng response cũ thay vì ghi thêm lần nữa. Response nằm trong
+ * cache LRU của tiến trình và bảng idempotency_keys (còn dùng được sau khi
+ * khởi động lại); mỗi mục hết hạn sau idempotency.ttl-ms.
+ */
+@Component
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${idempotency.memory-max-entries:10000}")
+    private int memoryMaxEntries;
+
+    private Map<String, IdempotencyRecord> memory;
+    // Key đang được xử lý; chỉ chặn được request trùng trên cùng một instance
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private Counter replayed;
+
+    @PostConstruct
+    public void init() {
+        memory = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+        replayed = Counter.builder("idempotency.replayed")
+                .description("Số request retry được trả lại response đã lưu")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("idempotency.memory.size", Collections.emptyList(), memory);
+    }
+
+    /**
+     * Khóa lưu trữ: key của client chỉ có nghĩa trong phạm vi một người dùng và một endpoint
+     */
+    public String keyHash(String scope, String path, String key) {
+        return sha256((scope + "\n" + path + "\n" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String requestHash(byte[] body) {
+        return sha256(body);
+    }
+
+    /**
+     * Response đã lưu còn hạn cho key, null nếu chưa có
+     */
+    public IdempotencyRecord find(String keyHash) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = memory.get(keyHash);
+        if (record == null) {
+            try {
+                record = idempotencyRecordRepository.findById(keyHash).orElse(null);
+            } catch (RuntimeException e) {
+                log.warn("Không đọc được idempotency key từ database", e);
+                return null;
+            }
+            if (record != null && record.getExpiresAt().isAfter(now)) {
+                memory.put(keyHash, record);
+            }
+        }
+        if (record == null || !record.getExpiresAt().isAfter(now)) {
+            return null;
+        }
+        return record;
+    }
+
+    public void markReplayed() {
+        replayed.increment();
+    }
+
+    /**
+     * Đánh dấu key đang xử lý; false nếu một request cùng key chưa xong
+     */
+    public boolean begin(String keyHash) {
+        return inFlight.add(keyHash);
+    }
+
+    public void finish(String keyHash) {
+        inFlight.remove(keyHash);
+    }
+
+    /**
+     * Lưu response; lỗi database chỉ ghi log, mục trong bộ nhớ vẫn dùng được
+     */
+    public void save(String keyHash, String requestHash, int statusCode, String contentType, String responseBody) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKeyHash(keyHash);
+        record.setRequestHash(requestHash);
+        record.setStatusCode(statusCode);
+        record.setContentType(contentType);
+        record.setResponseBody(responseBody);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plusNanos(ttlMs * 1_000_000L));
+        memory.put(keyHash, record);
+        try {
+            idempotencyRecordRepository.save(record);
+        } catch (RuntimeException e) {
+            log.warn("Không lưu được idempotency key vào database", e);
+        }
+    }
+
+    /**
+     * Xóa các key đã hết hạn trong bộ nhớ và database
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (memory) {
+            memory.values().removeIf(record -> !record.getExpiresAt().isAfter(now));
+        }
+        try {
+            int deleted = idempotencyRecordRepository.deleteExpired(now);
+            if (deleted > 0) {
+                log.info("Đã xóa {} idempotency key hết hạn", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Không xóa được idempotency key hết hạn", e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not found", e);
+        }
+    }
+}
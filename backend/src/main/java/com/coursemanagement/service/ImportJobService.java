@@ -0,0 +1,256 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.dto.ImportJob;
+import com.coursemanagement.service.importer.CsvImporter;
+import com.coursemanagement.service.importer.ImportRow;
+import com.coursemanagement.service.importer.ImportSession;
+import com.coursemanagement.util.CsvRowReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chạy các job import CSV trong nền.
+ * File được đọc dạng stream thành từng lô; các lô được kiểm tra song song
+ * trên pool riêng, sau đó ghi tuần tự theo thứ tự trong file (loại trùng với
+ * tập dữ liệu đã nạp trước, rồi ghi bằng JDBC batch). Số lô đang chờ ghi có
+ * giới hạn nên bộ nhớ không tăng theo kích thước file.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    @Autowired
+    private List<CsvImporter<?>> importerList;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    // 0 = số CPU
+    @Value("${import.validate-threads:0}")
+    private int validateThreads;
+
+    @Value("${import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${import.max-errors-per-job:1000}")
+    private int maxErrorsPerJob;
+
+    @Value("${import.retained-jobs:50}")
+    private int retainedJobs;
+
+    private final Map<String, CsvImporter<?>> importers = new HashMap<>();
+    // Thứ tự tạo, dùng để bỏ các job cũ đã xong
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private ExecutorService jobExecutor;
+    private ExecutorService validateExecutor;
+    private int maxInFlightChunks;
+
+    @PostConstruct
+    public void init() {
+        for (CsvImporter<?> importer : importerList) {
+            importers.put(importer.getType(), importer);
+        }
+        int threads = validateThreads > 0 ? validateThreads : Runtime.getRuntime().availableProcessors();
+        maxInFlightChunks = threads * 2;
+        jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs, daemonThreads("import-job-"));
+        validateExecutor = Executors.newFixedThreadPool(threads, daemonThreads("import-validate-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validateExecutor.shutdownNow();
+    }
+
+    /**
+     * Nhận file và tạo job, việc import chạy nền nên trả về ngay
+     */
+    public ImportJob startImport(String type, MultipartFile file) {
+        CsvImporter<?> importer = importers.get(type);
+        if (importer == null) {
+            throw new RuntimeException("Loại import không hợp lệ: " + type + ", hỗ trợ " + importers.keySet());
+        }
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File import rỗng");
+        }
+        // File upload bị xóa khi request kết thúc nên chép sang file tạm của job
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("import-", ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Không lưu được file import", e);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type, file.getOriginalFilename(), maxErrorsPerJob);
+        register(job);
+        jobExecutor.execute(() -> run(job, importer, tempFile));
+        return job;
+    }
+
+    public Optional<ImportJob> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    public List<ImportJob> getJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            int excess = jobs.size() - retainedJobs;
+            while (excess > 0 && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    private <T> void run(ImportJob job, CsvImporter<T> importer, Path tempFile) {
+        job.start();
+        try (InputStream in = Files.newInputStream(tempFile);
+             CsvRowReader reader = new CsvRowReader(in)) {
+            List<String> header = readHeader(reader, importer);
+            ImportSession<T> session = importer.open();
+
+            Deque<CompletableFuture<ValidatedChunk<T>>> inFlight = new ArrayDeque<>();
+            List<String> row;
+            List<RawRow> chunk = new ArrayList<>(chunkSize);
+            while ((row = reader.readRow()) != null) {
+                if (row.size() == 1 && row.get(0).isBlank()) {
+                    continue;
+                }
+                chunk.add(new RawRow(reader.getRowLineNumber(), row));
+                if (chunk.size() == chunkSize) {
+                    job.addReadRows(chunk.size());
+                    inFlight.add(submitValidation(session, header, chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    // Chờ lô cũ nhất ghi xong trước khi đọc thêm
+                    if (inFlight.size() >= maxInFlightChunks) {
+                        write(session, inFlight.poll().join(), job);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                job.addReadRows(chunk.size());
+                inFlight.add(submitValidation(session, header, chunk));
+            }
+            while (!inFlight.isEmpty()) {
+                write(session, inFlight.poll().join(), job);
+            }
+            session.complete();
+            job.complete();
+        } catch (Exception e) {
+            log.warn("Import {} ({}) thất bại", job.getJobId(), job.getType(), e);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("Không xóa được file tạm {}", tempFile);
+            }
+        }
+    }
+
+    private List<String> readHeader(CsvRowReader reader, CsvImporter<?> importer) throws IOException {
+        List<String> header = reader.readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("File không có dòng tiêu đề");
+        }
+        List<String> columns = new ArrayList<>(header.size());
+        for (String column : header) {
+            columns.add(column.trim().toLowerCase());
+        }
+        List<String> missing = new ArrayList<>(importer.getRequiredColumns());
+        missing.removeAll(columns);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Thiếu cột bắt buộc: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private <T> CompletableFuture<ValidatedChunk<T>> submitValidation(ImportSession<T> session, List<String> header,
+                                                                      List<RawRow> chunk) {
+        return CompletableFuture.supplyAsync(() -> {
+            ValidatedChunk<T> result = new ValidatedChunk<>();
+            for (RawRow raw : chunk) {
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < header.size() && i < raw.values.size(); i++) {
+                    values.put(header.get(i), raw.values.get(i));
+                }
+                try {
+                    result.rows.add(new ImportRow<>(raw.line, session.validate(values)));
+                } catch (RuntimeException e) {
+                    result.errors.add(new ImportJob.RowError(raw.line, e.getMessage()));
+                }
+            }
+            return result;
+        }, validateExecutor);
+    }
+
+    private <T> void write(ImportSession<T> session, ValidatedChunk<T> chunk, ImportJob job) {
+        for (ImportJob.RowError error : chunk.errors) {
+            job.addError(error.getLine(), error.getMessage());
+        }
+        session.write(chunk.rows, job);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class RawRow {
+        private final int line;
+        private final List<String> values;
+
+        private RawRow(int line, List<String> values) {
+            this.line = line;
+            this.values = values;
+        }
+    }
+
+    private static class ValidatedChunk<T> {
+        private final List<ImportRow<T>> rows = new ArrayList<>();
+        private final List<ImportJob.RowError> errors = new ArrayList<>();
+    }
+}
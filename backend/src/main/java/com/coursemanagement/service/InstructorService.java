@@ -1,11 +1,13 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Instructor;
 import com.coursemanagement.repository.InstructorRepository;
+import com.coursemanagement.repository.projection.InstructorSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -14,8 +16,24 @@ public class InstructorService {
     @Autowired
     private InstructorRepository instructorRepository;
 
-    public List<Instructor> getAllInstructors() {
-        return instructorRepository.findAll();
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    public CursorPage<Object> getInstructorPage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        if (selector.isCoveredBy(InstructorSummary.class)) {
+            return CursorPage.of(instructorRepository.findByInstructorIdGreaterThanOrderByInstructorIdAsc(
+                    after, CursorPage.limit(limit), InstructorSummary.class), limit, InstructorSummary::getInstructorId)
+                    .map(item -> selector.select(item, Instructor.class));
+        }
+        return CursorPage.of(instructorRepository.findByInstructorIdGreaterThanOrderByInstructorIdAsc(
+                after, CursorPage.limit(limit), Instructor.class), limit, Instructor::getInstructorId)
+                .map(item -> selector.select(item, Instructor.class));
     }
 
     public Optional<Instructor> getInstructorById(Integer id) {
@@ -23,7 +41,10 @@ public class InstructorService {
     }
 
     public Instructor createInstructor(Instructor instructor) {
-        return instructorRepository.save(instructor);
+        Instructor saved = instructorRepository.save(instructor);
+        searchService.indexInstructor(saved);
+        catalogVersions.bump(CatalogVersions.INSTRUCTORS);
+        return saved;
     }
 
     public Instructor updateInstructor(Integer id, Instructor instructorDetails) {
@@ -36,11 +57,16 @@ public class InstructorService {
         instructor.setSpecialization(instructorDetails.getSpecialization());
         instructor.setBio(instructorDetails.getBio());
         
-        return instructorRepository.save(instructor);
+        Instructor saved = instructorRepository.save(instructor);
+        searchService.indexInstructor(saved);
+        catalogVersions.bump(CatalogVersions.INSTRUCTORS);
+        return saved;
     }
 
     public void deleteInstructor(Integer id) {
         instructorRepository.deleteById(id);
+        searchService.removeInstructor(id);
+        catalogVersions.bump(CatalogVersions.INSTRUCTORS);
     }
 }
 
@@ -0,0 +1,179 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.entity.RegistrationPeriod;
+import com.coursemanagement.repository.PeriodCourseRepository;
+import com.coursemanagement.repository.RegistrationPeriodRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Giữ danh sách đợt đăng ký đang mở trong bộ nhớ và chuyển status đúng lúc.
+ * Mỗi lần làm mới: một câu UPDATE đặt lại status theo ngày, nạp các đợt đang mở
+ * cùng khóa học của chúng, rồi hẹn lần chạy tiếp theo vào đầu ngày của mốc
+ * bắt đầu/kết thúc gần nhất. Giữa các mốc không có truy vấn nào.
+ */
+@Component
+public class RegistrationPeriodScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationPeriodScheduler.class);
+
+    @Autowired
+    private RegistrationPeriodRepository periodRepository;
+
+    @Autowired
+    private PeriodCourseRepository periodCourseRepository;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    private TransactionTemplate transactionTemplate;
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), Collections.emptyMap(), null);
+    private ScheduledFuture<?> nextRun;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Có thể được gọi trong afterCommit của transaction khác, cần transaction riêng
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Các đợt đăng ký đang mở, không truy vấn database
+     */
+    public List<RegistrationPeriod> getActivePeriods() {
+        return snapshot.activePeriods;
+    }
+
+    /**
+     * Đợt đang mở có chứa khóa học, null nếu khóa học không nằm trong đợt nào đang mở
+     */
+    public Integer findActivePeriodId(Integer courseId) {
+        Set<Integer> periodIds = snapshot.activePeriodsByCourse.get(courseId);
+        return periodIds == null ? null : periodIds.iterator().next();
+    }
+
+    /**
+     * Khóa học có nằm trong đợt đang mở periodId hay không, không truy vấn database
+     */
+    public boolean isCourseOpen(Integer courseId, Integer periodId) {
+        Set<Integer> periodIds = snapshot.activePeriodsByCourse.get(courseId);
+        return periodIds != null && periodIds.contains(periodId);
+    }
+
+    /**
+     * Làm mới sau khi transaction hiện tại commit (đợt hoặc khóa học trong đợt vừa đổi)
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    /**
+     * Đối chiếu định kỳ phòng khi dữ liệu bị sửa ngoài API (ứng dụng desktop)
+     * hoặc đồng hồ hệ thống bị chỉnh
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${registration-period.reconcile-interval-ms:600000}",
+               initialDelayString = "${registration-period.reconcile-interval-ms:600000}")
+    public synchronized void refresh() {
+        LocalDate today = LocalDate.now();
+        Snapshot previous = snapshot;
+        Snapshot fresh = transactionTemplate.execute(status -> {
+            int changed = periodRepository.syncStatuses(today, RegistrationPeriod.PeriodStatus.upcoming,
+                    RegistrationPeriod.PeriodStatus.active, RegistrationPeriod.PeriodStatus.closed);
+            if (changed > 0) {
+                log.info("Đã chuyển status cho {} đợt đăng ký", changed);
+                catalogVersions.bumpAfterCommit(CatalogVersions.REGISTRATION_PERIODS);
+            }
+            List<RegistrationPeriod> active = periodRepository.findActivePeriods(today);
+            Map<Integer, Set<Integer>> periodsByCourse = new HashMap<>();
+            if (!active.isEmpty()) {
+                List<Integer> periodIds = active.stream().map(RegistrationPeriod::getPeriodId).toList();
+                for (Object[] row : periodCourseRepository.findPairsByPeriodIdIn(periodIds)) {
+                    periodsByCourse.computeIfAbsent((Integer) row[1], k -> new LinkedHashSet<>()).add((Integer) row[0]);
+                }
+            }
+            return new Snapshot(List.copyOf(active), periodsByCourse, nextBoundary(today));
+        });
+        snapshot = fresh;
+        // currentlyActive tính theo ngày nên danh sách đổi khi qua mốc dù status không đổi
+        if (!activeIds(previous).equals(activeIds(fresh))) {
+            catalogVersions.bump(CatalogVersions.REGISTRATION_PERIODS);
+        }
+        schedule(fresh.nextBoundary);
+    }
+
+    // Mốc gần nhất: ngày một đợt bắt đầu, hoặc ngày sau ngày kết thúc của một đợt
+    private LocalDate nextBoundary(LocalDate today) {
+        LocalDate nextStart = periodRepository.findNextStartDate(today);
+        LocalDate nextEnd = periodRepository.findNextEndDate(today);
+        LocalDate afterEnd = nextEnd != null ? nextEnd.plusDays(1) : null;
+        if (nextStart == null) {
+            return afterEnd;
+        }
+        return afterEnd == null || nextStart.isBefore(afterEnd) ? nextStart : afterEnd;
+    }
+
+    private static List<Integer> activeIds(Snapshot snapshot) {
+        return snapshot.activePeriods.stream().map(RegistrationPeriod::getPeriodId).toList();
+    }
+
+    private void schedule(LocalDate boundary) {
+        if (nextRun != null) {
+            nextRun.cancel(false);
+            nextRun = null;
+        }
+        if (boundary != null) {
+            nextRun = taskScheduler.schedule(this::refresh, boundary.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    private static class Snapshot {
+        private final List<RegistrationPeriod> activePeriods;
+        private final Map<Integer, Set<Integer>> activePeriodsByCourse;
+        private final LocalDate nextBoundary;
+
+        private Snapshot(List<RegistrationPeriod> activePeriods, Map<Integer, Set<Integer>> activePeriodsByCourse,
+                         LocalDate nextBoundary) {
+            this.activePeriods = activePeriods;
+            this.activePeriodsByCourse = activePeriodsByCourse;
+            this.nextBoundary = nextBoundary;
+        }
+    }
+}
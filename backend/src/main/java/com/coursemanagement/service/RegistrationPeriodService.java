@@ -5,23 +5,41 @@ import com.coursemanagement.entity.RegistrationPeriod;
 import com.coursemanagement.repository.PeriodCourseRepository;
 import com.coursemanagement.repository.RegistrationPeriodRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class RegistrationPeriodService {
 
+    private static final int INSERT_BATCH_SIZE = 500;
+
     @Autowired
     private RegistrationPeriodRepository periodRepository;
 
     @Autowired
     private PeriodCourseRepository periodCourseRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private RegistrationPeriodScheduler periodScheduler;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     public List<RegistrationPeriod> getAllPeriods() {
         return periodRepository.findAllByOrderByStartDateDesc();
     }
@@ -30,15 +48,19 @@ public class RegistrationPeriodService {
         return periodRepository.findById(id);
     }
 
+    // Lấy từ bộ nhớ, status được chuyển bởi RegistrationPeriodScheduler
     public List<RegistrationPeriod> getActivePeriods() {
-        return periodRepository.findActivePeriods(LocalDate.now());
+        return periodScheduler.getActivePeriods();
     }
 
     @Transactional
     public RegistrationPeriod createPeriod(RegistrationPeriod period) {
         period.setCreatedAt(LocalDateTime.now());
         updatePeriodStatus(period);
-        return periodRepository.save(period);
+        RegistrationPeriod saved = periodRepository.save(period);
+        periodScheduler.refreshAfterCommit();
+        catalogVersions.bumpAfterCommit(CatalogVersions.REGISTRATION_PERIODS);
+        return saved;
     }
 
     @Transactional
@@ -52,7 +74,10 @@ public class RegistrationPeriodService {
         period.setEndDate(periodDetails.getEndDate());
         updatePeriodStatus(period);
 
-        return periodRepository.save(period);
+        RegistrationPeriod saved = periodRepository.save(period);
+        periodScheduler.refreshAfterCommit();
+        catalogVersions.bumpAfterCommit(CatalogVersions.REGISTRATION_PERIODS);
+        return saved;
     }
 
     @Transactional
@@ -60,9 +85,11 @@ public class RegistrationPeriodService {
         // Xóa các khóa học liên kết trước
         periodCourseRepository.deleteByPeriodId(id);
         periodRepository.deleteById(id);
+        periodScheduler.refreshAfterCommit();
+        catalogVersions.bumpAfterCommit(CatalogVersions.REGISTRATION_PERIODS);
     }
 
-    // Cập nhật status dựa trên ngày
+    // Status lúc ghi, các lần chuyển sau đó do RegistrationPeriodScheduler thực hiện
     private void updatePeriodStatus(RegistrationPeriod period) {
         LocalDate today = LocalDate.now();
         if (today.isBefore(period.getStartDate())) {
@@ -76,33 +103,40 @@ public class RegistrationPeriodService {
 
     // Lấy danh sách course IDs trong một đợt
     public List<Integer> getCourseIdsByPeriod(Integer periodId) {
-        return periodCourseRepository.findByPeriodId(periodId)
-                .stream()
-                .map(PeriodCourse::getCourseId)
-                .toList();
+        return periodCourseRepository.findCourseIdsByPeriodId(periodId);
     }
 
-    // Cập nhật các khóa học trong đợt đăng ký
+    // Cập nhật các khóa học trong đợt đăng ký: chỉ xóa/thêm phần chênh lệch
     @Transactional
     public void updatePeriodCourses(Integer periodId, List<Integer> courseIds) {
-        // Xóa các khóa học cũ
-        periodCourseRepository.deleteByPeriodId(periodId);
+        Set<Integer> wanted = new LinkedHashSet<>(courseIds);
+        Set<Integer> existing = new HashSet<>(getCourseIdsByPeriod(periodId));
 
-        // Thêm các khóa học mới
-        for (Integer courseId : courseIds) {
-            PeriodCourse pc = new PeriodCourse(periodId, courseId);
-            periodCourseRepository.save(pc);
+        List<Integer> removed = existing.stream()
+                .filter(courseId -> !wanted.contains(courseId))
+                .toList();
+        List<Integer> added = wanted.stream()
+                .filter(courseId -> !existing.contains(courseId))
+                .toList();
+
+        if (!removed.isEmpty()) {
+            periodCourseRepository.deleteByPeriodIdAndCourseIdIn(periodId, removed);
         }
-    }
 
-    // Cập nhật status cho tất cả đợt đăng ký
-    @Transactional
-    public void refreshAllPeriodStatuses() {
-        List<RegistrationPeriod> periods = periodRepository.findAll();
-        for (RegistrationPeriod period : periods) {
-            updatePeriodStatus(period);
-            periodRepository.save(period);
+        // ID dạng IDENTITY khiến Hibernate không batch được, nên insert qua JDBC batch
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO period_courses (period_id, course_id) VALUES (?, ?)",
+                    added,
+                    INSERT_BATCH_SIZE,
+                    (ps, courseId) -> {
+                        ps.setInt(1, periodId);
+                        ps.setInt(2, courseId);
+                    });
         }
+        // Insert qua JDBC không đi qua Hibernate, phải tự xóa cache PeriodCourse
+        entityCacheEvictor.evictAfterCommit(PeriodCourse.class);
+        periodScheduler.refreshAfterCommit();
     }
 }
 
@@ -0,0 +1,100 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.common.SearchIndex;
+import com.coursemanagement.entity.Course;
+import com.coursemanagement.entity.Instructor;
+import com.coursemanagement.entity.Student;
+import com.coursemanagement.repository.CourseRepository;
+import com.coursemanagement.repository.InstructorRepository;
+import com.coursemanagement.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tìm kiếm khóa học, sinh viên, giảng viên qua chỉ mục trong bộ nhớ.
+ * Chỉ mục được dựng khi khởi động và cập nhật từ các service khi ghi dữ liệu.
+ * Dựng lại thì dựng một chỉ mục mới rồi thay bằng một phép gán, tìm kiếm đồng thời
+ * không bao giờ thấy chỉ mục rỗng hoặc dựng dở.
+ */
+@Service
+public class SearchService {
+
+    public static final String TYPE_COURSE = "course";
+    public static final String TYPE_STUDENT = "student";
+    public static final String TYPE_INSTRUCTOR = "instructor";
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ database khi ứng dụng khởi động
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        SearchIndex fresh = new SearchIndex();
+        courseRepository.findAll().forEach(course -> indexCourse(fresh, course));
+        studentRepository.findAll().forEach(student -> indexStudent(fresh, student));
+        instructorRepository.findAll().forEach(instructor -> indexInstructor(fresh, instructor));
+        index = fresh;
+    }
+
+    public List<SearchIndex.Hit> search(String query, Collection<String> types, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return index.search(query, types, size);
+    }
+
+    public void indexCourse(Course course) {
+        indexCourse(index, course);
+    }
+
+    public void indexStudent(Student student) {
+        indexStudent(index, student);
+    }
+
+    public void indexInstructor(Instructor instructor) {
+        indexInstructor(index, instructor);
+    }
+
+    private static void indexCourse(SearchIndex index, Course course) {
+        index.put(TYPE_COURSE, course.getCourseId(), course.getCourseName(), course.getCourseCode(),
+                course.getCourseName(), course.getCourseCode());
+    }
+
+    private static void indexStudent(SearchIndex index, Student student) {
+        index.put(TYPE_STUDENT, student.getStudentId(), student.getFullName(), student.getEmail(),
+                student.getFullName(), student.getEmail());
+    }
+
+    private static void indexInstructor(SearchIndex index, Instructor instructor) {
+        index.put(TYPE_INSTRUCTOR, instructor.getInstructorId(), instructor.getFullName(),
+                instructor.getSpecialization(), instructor.getFullName());
+    }
+
+    public void removeCourse(Integer courseId) {
+        index.remove(TYPE_COURSE, courseId);
+    }
+
+    public void removeStudent(Integer studentId) {
+        index.remove(TYPE_STUDENT, studentId);
+    }
+
+    public void removeInstructor(Integer instructorId) {
+        index.remove(TYPE_INSTRUCTOR, instructorId);
+    }
+}
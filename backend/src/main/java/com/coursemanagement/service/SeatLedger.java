@@ -0,0 +1,146 @@
+package com.coursemanagement.service;
+
+import com.coursemanagement.repository.CourseRepository;
+import com.coursemanagement.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sổ chỗ ngồi trong bộ nhớ cho từng khóa học.
+ * Giữ số chỗ đã đặt và danh sách sinh viên đã đăng ký để kiểm tra
+ * trùng lặp và giới hạn maxStudents mà không cần truy vấn database.
+ */
+@Component
+public class SeatLedger {
+
+    public enum ReserveResult {
+        RESERVED, DUPLICATE, FULL, COURSE_NOT_FOUND
+    }
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private final Map<Integer, CourseSeats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Dựng lại toàn bộ bộ đếm từ database khi ứng dụng khởi động
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Integer, CourseSeats> fresh = new ConcurrentHashMap<>();
+        for (Object[] row : courseRepository.findAllCapacities()) {
+            fresh.put((Integer) row[0], new CourseSeats((Integer) row[1]));
+        }
+        for (Object[] row : enrollmentRepository.findAllCourseStudentPairs()) {
+            CourseSeats courseSeats = fresh.get((Integer) row[0]);
+            if (courseSeats != null && courseSeats.students.add((Integer) row[1])) {
+                courseSeats.taken.incrementAndGet();
+            }
+        }
+        seats.clear();
+        seats.putAll(fresh);
+    }
+
+    /**
+     * Giữ một chỗ cho sinh viên trong khóa học
+     */
+    public ReserveResult reserve(Integer courseId, Integer studentId) {
+        CourseSeats courseSeats = getOrLoad(courseId);
+        if (courseSeats == null) {
+            return ReserveResult.COURSE_NOT_FOUND;
+        }
+        if (!courseSeats.students.add(studentId)) {
+            return ReserveResult.DUPLICATE;
+        }
+        while (true) {
+            int current = courseSeats.taken.get();
+            Integer capacity = courseSeats.capacity;
+            if (capacity != null && current >= capacity) {
+                courseSeats.students.remove(studentId);
+                return ReserveResult.FULL;
+            }
+            if (courseSeats.taken.compareAndSet(current, current + 1)) {
+                return ReserveResult.RESERVED;
+            }
+        }
+    }
+
+    /**
+     * Trả lại chỗ khi ghi thất bại hoặc khi hủy đăng ký
+     */
+    public void release(Integer courseId, Integer studentId) {
+        CourseSeats courseSeats = seats.get(courseId);
+        if (courseSeats != null && courseSeats.students.remove(studentId)) {
+            courseSeats.taken.decrementAndGet();
+        }
+    }
+
+    public void registerCourse(Integer courseId, Integer maxStudents) {
+        seats.putIfAbsent(courseId, new CourseSeats(maxStudents));
+    }
+
+    public void updateCapacity(Integer courseId, Integer maxStudents) {
+        CourseSeats courseSeats = seats.get(courseId);
+        if (courseSeats != null) {
+            courseSeats.capacity = maxStudents;
+        }
+    }
+
+    public void removeCourse(Integer courseId) {
+        seats.remove(courseId);
+    }
+
+    public int getTakenSeats(Integer courseId) {
+        CourseSeats courseSeats = seats.get(courseId);
+        return courseSeats != null ? courseSeats.taken.get() : 0;
+    }
+
+    /**
+     * Sinh viên đang giữ chỗ trong khóa học (bản sao), rỗng nếu không có khóa học
+     */
+    public Set<Integer> getStudentIds(Integer courseId) {
+        CourseSeats courseSeats = getOrLoad(courseId);
+        return courseSeats != null ? new HashSet<>(courseSeats.students) : Collections.emptySet();
+    }
+
+    // Khóa học chưa có trong sổ (ví dụ tạo trực tiếp trong DB) thì nạp riêng lẻ
+    private CourseSeats getOrLoad(Integer courseId) {
+        CourseSeats courseSeats = seats.get(courseId);
+        if (courseSeats != null) {
+            return courseSeats;
+        }
+        return courseRepository.findById(courseId)
+                .map(course -> {
+                    CourseSeats loaded = new CourseSeats(course.getMaxStudents());
+                    List<Integer> studentIds = enrollmentRepository.findStudentIdsByCourseId(courseId);
+                    loaded.students.addAll(studentIds);
+                    loaded.taken.set(loaded.students.size());
+                    CourseSeats existing = seats.putIfAbsent(courseId, loaded);
+                    return existing != null ? existing : loaded;
+                })
+                .orElse(null);
+    }
+
+    private static class CourseSeats {
+        private volatile Integer capacity;
+        private final AtomicInteger taken = new AtomicInteger();
+        private final Set<Integer> students = ConcurrentHashMap.newKeySet();
+
+        private CourseSeats(Integer capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
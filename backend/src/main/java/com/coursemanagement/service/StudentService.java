@@ -1,11 +1,13 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Student;
 import com.coursemanagement.repository.StudentRepository;
+import com.coursemanagement.repository.projection.StudentSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -14,8 +16,24 @@ public class StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private SearchService searchService;
+
+    public CursorPage<Object> getStudentPage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        if (selector.isCoveredBy(StudentSummary.class)) {
+            return CursorPage.of(studentRepository.findByStudentIdGreaterThanOrderByStudentIdAsc(
+                    after, CursorPage.limit(limit), StudentSummary.class), limit, StudentSummary::getStudentId)
+                    .map(item -> selector.select(item, Student.class));
+        }
+        return CursorPage.of(studentRepository.findByStudentIdGreaterThanOrderByStudentIdAsc(
+                after, CursorPage.limit(limit), Student.class), limit, Student::getStudentId)
+                .map(item -> selector.select(item, Student.class));
     }
 
     public Optional<Student> getStudentById(Integer id) {
@@ -23,7 +41,10 @@ public class StudentService {
     }
 
     public Student createStudent(Student student) {
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        dashboardStatsCache.studentCreated();
+        searchService.indexStudent(saved);
+        return saved;
     }
 
     public Student updateStudent(Integer id, Student studentDetails) {
@@ -36,11 +57,17 @@ public class StudentService {
         student.setDateOfBirth(studentDetails.getDateOfBirth());
         student.setAddress(studentDetails.getAddress());
         
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        searchService.indexStudent(saved);
+        return saved;
     }
 
     public void deleteStudent(Integer id) {
-        studentRepository.deleteById(id);
+        if (studentRepository.existsById(id)) {
+            studentRepository.deleteById(id);
+            dashboardStatsCache.studentDeleted();
+            searchService.removeStudent(id);
+        }
     }
 }
 
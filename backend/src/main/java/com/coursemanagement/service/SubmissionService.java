@@ -1,11 +1,19 @@
 package com.coursemanagement.service;
 
+import com.coursemanagement.dto.CursorPage;
 import com.coursemanagement.entity.Submission;
+import com.coursemanagement.repository.AttachmentRepository;
 import com.coursemanagement.repository.SubmissionRepository;
+import com.coursemanagement.repository.projection.SubmissionSummary;
+import com.coursemanagement.util.FieldSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,8 +22,20 @@ public class SubmissionService {
     @Autowired
     private SubmissionRepository submissionRepository;
 
-    public List<Submission> getAllSubmissions() {
-        return submissionRepository.findAll();
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private EventBroker eventBroker;
+
+    public CursorPage<Object> getSubmissionPage(Integer cursor, Integer size, String fields) {
+        int limit = CursorPage.clampSize(size);
+        int after = CursorPage.afterCursor(cursor);
+        FieldSelector selector = FieldSelector.parse(fields);
+        // Danh sách luôn dùng projection tóm tắt, nội dung chỉ có ở GET /submissions/{id}
+        return CursorPage.of(submissionRepository.findBySubmissionIdGreaterThanOrderBySubmissionIdAsc(
+                after, CursorPage.limit(limit), SubmissionSummary.class), limit, SubmissionSummary::getSubmissionId)
+                .map(item -> selector.select(item, Submission.class));
     }
 
     public Optional<Submission> getSubmissionById(Integer id) {
@@ -30,24 +50,41 @@ public class SubmissionService {
         Submission submission = submissionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy bài nộp"));
         
-        submission.setContent(submissionDetails.getContent());
+        // Danh sách không trả về content, client gửi lại bản tóm tắt thì giữ nguyên nội dung
+        if (submissionDetails.getContent() != null) {
+            submission.setContent(submissionDetails.getContent());
+        }
+        Integer previousScore = submission.getScore();
         submission.setAttachment(submissionDetails.getAttachment());
         submission.setScore(submissionDetails.getScore());
         submission.setStatus(submissionDetails.getStatus());
         
-        return submissionRepository.save(submission);
+        Submission saved = submissionRepository.save(submission);
+        // Báo điểm mới cho sinh viên qua kênh SSE riêng
+        if (saved.getScore() != null && !Objects.equals(saved.getScore(), previousScore)) {
+            Map<String, Object> grade = new LinkedHashMap<>();
+            grade.put("submissionId", saved.getSubmissionId());
+            grade.put("assignmentId", saved.getAssignmentId());
+            grade.put("score", saved.getScore());
+            grade.put("status", saved.getStatus());
+            eventBroker.publish("student:" + saved.getStudentId(), "grade", grade);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteSubmission(Integer id) {
+        // Nội dung file được GC dọn khi không còn bản ghi nào tham chiếu
+        attachmentRepository.deleteBySubmissionId(id);
         submissionRepository.deleteById(id);
     }
 
-    public List<Submission> getSubmissionsByAssignment(Integer assignmentId) {
-        return submissionRepository.findByAssignmentId(assignmentId);
+    public List<SubmissionSummary> getSubmissionsByAssignment(Integer assignmentId) {
+        return submissionRepository.findByAssignmentIdOrderBySubmissionIdAsc(assignmentId);
     }
 
-    public List<Submission> getSubmissionsByStudent(Integer studentId) {
-        return submissionRepository.findByStudentId(studentId);
+    public List<SubmissionSummary> getSubmissionsByStudent(Integer studentId) {
+        return submissionRepository.findByStudentIdOrderBySubmissionIdAsc(studentId);
     }
 }
 
@@ -0,0 +1,25 @@
+package com.coursemanagement.service.importer;
+
+import java.util.List;
+
+/**
+ * Một loại dữ liệu có thể import từ CSV (sinh viên, đăng ký, khóa học trong đợt)
+ */
+public interface CsvImporter<T> {
+
+    /**
+     * Tên loại dùng trong URL, ví dụ "students"
+     */
+    String getType();
+
+    /**
+     * Các cột bắt buộc phải có trong dòng tiêu đề
+     */
+    List<String> getRequiredColumns();
+
+    /**
+     * Mở phiên import: nạp trước dữ liệu đối chiếu (email đã có, mã khóa học...)
+     * một lần cho cả job thay vì truy vấn theo từng dòng
+     */
+    ImportSession<T> open();
+}
@@ -0,0 +1,157 @@
+package com.coursemanagement.service.importer;
+
+import com.coursemanagement.dto.ImportJob;
+import com.coursemanagement.entity.Enrollment;
+import com.coursemanagement.service.AnnouncementFeedService;
+import com.coursemanagement.service.DashboardStatsCache;
+import com.coursemanagement.service.SeatLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Import đăng ký khóa học. Cột: student_email, course_code (bắt buộc),
+ * payment_status, enrollment_date. Chỗ ngồi được giữ qua SeatLedger
+ * giống như đăng ký qua API.
+ */
+@Component
+public class EnrollmentCsvImporter implements CsvImporter<EnrollmentCsvImporter.EnrollmentRecord> {
+
+    private static final String INSERT_ENROLLMENT =
+            "INSERT INTO enrollments (student_id, course_id, enrollment_date, completion_status, payment_status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcBatchInserter batchInserter;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private AnnouncementFeedService feedService;
+
+    @Override
+    public String getType() {
+        return "enrollments";
+    }
+
+    @Override
+    public List<String> getRequiredColumns() {
+        return List.of("student_email", "course_code");
+    }
+
+    @Override
+    public ImportSession<EnrollmentRecord> open() {
+        Map<String, Integer> studentIds = new HashMap<>();
+        jdbcTemplate.query("SELECT student_id, email FROM students", rs -> {
+            studentIds.put(rs.getString(2).toLowerCase(), rs.getInt(1));
+        });
+        Map<String, Integer> courseIds = loadCourseIds(jdbcTemplate);
+        return new Session(studentIds, courseIds);
+    }
+
+    static Map<String, Integer> loadCourseIds(JdbcTemplate jdbcTemplate) {
+        Map<String, Integer> courseIds = new HashMap<>();
+        jdbcTemplate.query("SELECT course_id, course_code FROM courses WHERE course_code IS NOT NULL", rs -> {
+            courseIds.put(rs.getString(2).trim().toUpperCase(), rs.getInt(1));
+        });
+        return courseIds;
+    }
+
+    private class Session implements ImportSession<EnrollmentRecord> {
+        // Chỉ đọc sau khi nạp nên dùng chung an toàn giữa các luồng kiểm tra
+        private final Map<String, Integer> studentIds;
+        private final Map<String, Integer> courseIds;
+        private final LocalDateTime now = LocalDateTime.now();
+
+        private Session(Map<String, Integer> studentIds, Map<String, Integer> courseIds) {
+            this.studentIds = studentIds;
+            this.courseIds = courseIds;
+        }
+
+        @Override
+        public EnrollmentRecord validate(Map<String, String> row) {
+            String email = ImportValues.email(row, "student_email");
+            String courseCode = ImportValues.required(row, "course_code");
+            EnrollmentRecord record = new EnrollmentRecord();
+            record.studentId = studentIds.get(email.toLowerCase());
+            if (record.studentId == null) {
+                throw new IllegalArgumentException("Không tìm thấy sinh viên với email " + email);
+            }
+            record.courseId = courseIds.get(courseCode.toUpperCase());
+            if (record.courseId == null) {
+                throw new IllegalArgumentException("Không tìm thấy khóa học " + courseCode);
+            }
+            String paymentStatus = ImportValues.optional(row, "payment_status");
+            try {
+                record.paymentStatus = paymentStatus != null
+                        ? Enrollment.PaymentStatus.valueOf(paymentStatus.toLowerCase())
+                        : Enrollment.PaymentStatus.pending;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Trạng thái thanh toán không hợp lệ: " + paymentStatus);
+            }
+            LocalDate enrollmentDate = ImportValues.date(row, "enrollment_date");
+            record.enrollmentDate = enrollmentDate != null ? enrollmentDate : now.toLocalDate();
+            return record;
+        }
+
+        @Override
+        public void write(List<ImportRow<EnrollmentRecord>> rows, ImportJob job) {
+            List<ImportRow<EnrollmentRecord>> reserved = new ArrayList<>();
+            for (ImportRow<EnrollmentRecord> row : rows) {
+                EnrollmentRecord record = row.getRecord();
+                switch (seatLedger.reserve(record.courseId, record.studentId)) {
+                    case DUPLICATE:
+                        job.addError(row.getLine(), "Sinh viên đã đăng ký khóa học này");
+                        break;
+                    case FULL:
+                        job.addError(row.getLine(), "Khóa học đã đủ số lượng sinh viên");
+                        break;
+                    case COURSE_NOT_FOUND:
+                        job.addError(row.getLine(), "Không tìm thấy khóa học");
+                        break;
+                    default:
+                        reserved.add(row);
+                        break;
+                }
+            }
+
+            List<ImportRow<EnrollmentRecord>> written = batchInserter.insert(INSERT_ENROLLMENT, reserved, record -> new Object[] {
+                    record.studentId, record.courseId, record.enrollmentDate,
+                    Enrollment.CompletionStatus.enrolled.name(), record.paymentStatus.name(), now
+            }, job);
+            job.addImportedRows(written.size());
+
+            // Trả chỗ của các dòng ghi thất bại
+            List<ImportRow<EnrollmentRecord>> failed = new ArrayList<>(reserved);
+            failed.removeAll(written);
+            for (ImportRow<EnrollmentRecord> row : failed) {
+                seatLedger.release(row.getRecord().courseId, row.getRecord().studentId);
+            }
+            for (ImportRow<EnrollmentRecord> row : written) {
+                dashboardStatsCache.enrollmentCreated(row.getRecord().courseId);
+                feedService.invalidate(row.getRecord().studentId);
+            }
+        }
+    }
+
+    static class EnrollmentRecord {
+        private Integer studentId;
+        private Integer courseId;
+        private LocalDate enrollmentDate;
+        private Enrollment.PaymentStatus paymentStatus;
+    }
+}
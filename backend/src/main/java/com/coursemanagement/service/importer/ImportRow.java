@@ -0,0 +1,23 @@
+package com.coursemanagement.service.importer;
+
+/**
+ * Một dòng đã qua kiểm tra, kèm số dòng trong file để báo lỗi
+ */
+public class ImportRow<T> {
+
+    private final int line;
+    private final T record;
+
+    public ImportRow(int line, T record) {
+        this.line = line;
+        this.record = record;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public T getRecord() {
+        return record;
+    }
+}
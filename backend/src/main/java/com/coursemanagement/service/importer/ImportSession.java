@@ -0,0 +1,30 @@
+package com.coursemanagement.service.importer;
+
+import com.coursemanagement.dto.ImportJob;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phiên import của một job. validate chạy song song trên nhiều luồng,
+ * write được gọi tuần tự theo thứ tự các lô trong file.
+ */
+public interface ImportSession<T> {
+
+    /**
+     * Kiểm tra và chuyển một dòng (tên cột -> giá trị) thành bản ghi.
+     * Ném IllegalArgumentException kèm thông báo nếu dòng không hợp lệ.
+     */
+    T validate(Map<String, String> row);
+
+    /**
+     * Loại trùng với dữ liệu đã có rồi ghi một lô, lỗi từng dòng ghi vào job
+     */
+    void write(List<ImportRow<T>> rows, ImportJob job);
+
+    /**
+     * Gọi một lần khi đã ghi xong toàn bộ file
+     */
+    default void complete() {
+    }
+}
@@ -0,0 +1,59 @@
+package com.coursemanagement.service.importer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Đọc và kiểm tra giá trị của một dòng CSV
+ */
+final class ImportValues {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private ImportValues() {
+    }
+
+    static String optional(Map<String, String> row, String column) {
+        String value = row.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    static String required(Map<String, String> row, String column) {
+        String value = optional(row, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Thiếu giá trị cột " + column);
+        }
+        return value;
+    }
+
+    static String email(Map<String, String> row, String column) {
+        String value = required(row, column);
+        if (!EMAIL.matcher(value).matches()) {
+            throw new IllegalArgumentException("Email không hợp lệ: " + value);
+        }
+        return value;
+    }
+
+    static LocalDate date(Map<String, String> row, String column) {
+        String value = optional(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ngày không hợp lệ (yyyy-MM-dd) ở cột " + column + ": " + value);
+        }
+    }
+
+    static Integer integer(Map<String, String> row, String column) {
+        String value = required(row, column);
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Giá trị cột " + column + " phải là số: " + value);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.coursemanagement.service.importer;
+
+import com.coursemanagement.dto.ImportJob;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ghi một lô dòng import bằng JDBC batch trong một transaction.
+ * Nếu lô lỗi (ví dụ trùng khóa do ghi đồng thời) thì ghi lại từng dòng
+ * để chỉ loại đúng dòng hỏng. Một dòng có thể cần nhiều câu lệnh (sinh viên
+ * kèm tài khoản); các câu lệnh của cùng lô nằm chung một transaction.
+ */
+@Component
+public class JdbcBatchInserter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Trả về các dòng đã ghi thành công
+     */
+    public <T> List<ImportRow<T>> insert(String sql, List<ImportRow<T>> rows,
+                                         Function<T, Object[]> parameters, ImportJob job) {
+        return insert(rows, List.of(Statement.of(sql, parameters)), job);
+    }
+
+    /**
+     * Chạy các câu lệnh theo thứ tự cho mọi dòng trong một transaction. Dòng nào lỗi
+     * thì không câu lệnh nào của dòng đó được giữ lại. Trả về các dòng đã ghi thành công
+     */
+    public <T> List<ImportRow<T>> insert(List<ImportRow<T>> rows, List<Statement<T>> statements, ImportJob job) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Statement<T> statement : statements) {
+                    List<Object[]> batch = new ArrayList<>(rows.size());
+                    for (ImportRow<T> row : rows) {
+                        if (statement.condition.test(row.getRecord())) {
+                            batch.add(statement.parameters.apply(row.getRecord()));
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        jdbcTemplate.batchUpdate(statement.sql, batch);
+                    }
+                }
+            });
+            return rows;
+        } catch (DataAccessException batchError) {
+            List<ImportRow<T>> written = new ArrayList<>();
+            for (ImportRow<T> row : rows) {
+                T record = row.getRecord();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (Statement<T> statement : statements) {
+                            if (statement.condition.test(record)) {
+                                jdbcTemplate.update(statement.sql, statement.parameters.apply(record));
+                            }
+                        }
+                    });
+                    written.add(row);
+                } catch (DataAccessException e) {
+                    job.addError(row.getLine(), "Lỗi ghi dữ liệu: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Một câu lệnh chạy cho các dòng thỏa điều kiện
+     */
+    public static final class Statement<T> {
+        private final String sql;
+        private final Predicate<T> condition;
+        private final Function<T, Object[]> parameters;
+
+        private Statement(String sql, Predicate<T> condition, Function<T, Object[]> parameters) {
+            this.sql = sql;
+            this.condition = condition;
+            this.parameters = parameters;
+        }
+
+        public static <T> Statement<T> of(String sql, Function<T, Object[]> parameters) {
+            return new Statement<>(sql, record -> true, parameters);
+        }
+
+        public static <T> Statement<T> when(Predicate<T> condition, String sql, Function<T, Object[]> parameters) {
+            return new Statement<>(sql, condition, parameters);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.coursemanagement.service.importer;
+
+import com.coursemanagement.dto.ImportJob;
+import com.coursemanagement.entity.PeriodCourse;
+import com.coursemanagement.service.EntityCacheEvictor;
+import com.coursemanagement.service.RegistrationPeriodScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import khóa học mở trong đợt đăng ký. Cột: period_id, course_code (bắt buộc).
+ */
+@Component
+public class PeriodCourseCsvImporter implements CsvImporter<PeriodCourseCsvImporter.PeriodCourseRecord> {
+
+    private static final String INSERT_PERIOD_COURSE = "INSERT INTO period_courses (period_id, course_id) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcBatchInserter batchInserter;
+
+    @Autowired
+    private RegistrationPeriodScheduler periodScheduler;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Override
+    public String getType() {
+        return "period-courses";
+    }
+
+    @Override
+    public List<String> getRequiredColumns() {
+        return List.of("period_id", "course_code");
+    }
+
+    @Override
+    public ImportSession<PeriodCourseRecord> open() {
+        Set<Integer> periodIds = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT period_id FROM registration_periods", Integer.class));
+        Set<Long> pairs = new HashSet<>();
+        jdbcTemplate.query("SELECT period_id, course_id FROM period_courses", rs -> {
+            pairs.add(pairKey(rs.getInt(1), rs.getInt(2)));
+        });
+        return new Session(periodIds, EnrollmentCsvImporter.loadCourseIds(jdbcTemplate), pairs);
+    }
+
+    private static long pairKey(int periodId, int courseId) {
+        return ((long) periodId << 32) | (courseId & 0xFFFFFFFFL);
+    }
+
+    private class Session implements ImportSession<PeriodCourseRecord> {
+        private final Set<Integer> periodIds;
+        private final Map<String, Integer> courseIds;
+        private final Set<Long> pairs;
+        private int imported;
+
+        private Session(Set<Integer> periodIds, Map<String, Integer> courseIds, Set<Long> pairs) {
+            this.periodIds = periodIds;
+            this.courseIds = courseIds;
+            this.pairs = pairs;
+        }
+
+        @Override
+        public PeriodCourseRecord validate(Map<String, String> row) {
+            PeriodCourseRecord record = new PeriodCourseRecord();
+            record.periodId = ImportValues.integer(row, "period_id");
+            if (!periodIds.contains(record.periodId)) {
+                throw new IllegalArgumentException("Không tìm thấy đợt đăng ký " + record.periodId);
+            }
+            String courseCode = ImportValues.required(row, "course_code");
+            record.courseId = courseIds.get(courseCode.toUpperCase());
+            if (record.courseId == null) {
+                throw new IllegalArgumentException("Không tìm thấy khóa học " + courseCode);
+            }
+            return record;
+        }
+
+        @Override
+        public void write(List<ImportRow<PeriodCourseRecord>> rows, ImportJob job) {
+            List<ImportRow<PeriodCourseRecord>> fresh = new ArrayList<>();
+            for (ImportRow<PeriodCourseRecord> row : rows) {
+                if (pairs.add(pairKey(row.getRecord().periodId, row.getRecord().courseId))) {
+                    fresh.add(row);
+                } else {
+                    job.addError(row.getLine(), "Khóa học đã có trong đợt đăng ký");
+                }
+            }
+            List<ImportRow<PeriodCourseRecord>> written = batchInserter.insert(INSERT_PERIOD_COURSE, fresh, record -> new Object[] {
+                    record.periodId, record.courseId
+            }, job);
+            job.addImportedRows(written.size());
+            imported += written.size();
+        }
+
+        @Override
+        public void complete() {
+            if (imported > 0) {
+                entityCacheEvictor.evict(PeriodCourse.class);
+                periodScheduler.refresh();
+            }
+        }
+    }
+
+    static class PeriodCourseRecord {
+        private Integer periodId;
+        private Integer courseId;
+    }
+}
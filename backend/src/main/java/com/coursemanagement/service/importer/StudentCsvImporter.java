@@ -0,0 +1,167 @@
+package com.coursemanagement.service.importer;
+
+import com.coursemanagement.dto.ImportJob;
+import com.coursemanagement.entity.User;
+import com.coursemanagement.repository.StudentRepository;
+import com.coursemanagement.service.DashboardStatsCache;
+import com.coursemanagement.service.SearchService;
+import com.coursemanagement.util.PasswordHasher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import sinh viên. Cột: full_name, email (bắt buộc), phone, date_of_birth, address,
+ * username + password (tùy chọn, có thì tạo luôn tài khoản STUDENT như khi đăng ký).
+ */
+@Component
+public class StudentCsvImporter implements CsvImporter<StudentCsvImporter.StudentRecord> {
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (full_name, email, phone, date_of_birth, address, enrollment_date, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Lấy student_id vừa sinh qua email (unique) nên không cần đọc generated keys của batch
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email, role, reference_id, created_at) " +
+            "SELECT ?, ?, ?, ?, student_id, ? FROM students WHERE email = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcBatchInserter batchInserter;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Override
+    public String getType() {
+        return "students";
+    }
+
+    @Override
+    public List<String> getRequiredColumns() {
+        return List.of("full_name", "email");
+    }
+
+    @Override
+    public ImportSession<StudentRecord> open() {
+        Set<String> emails = new HashSet<>();
+        jdbcTemplate.query("SELECT email FROM students", rs -> {
+            emails.add(rs.getString(1).toLowerCase());
+        });
+        Set<String> accountEmails = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        jdbcTemplate.query("SELECT username, email FROM users", rs -> {
+            usernames.add(rs.getString(1).toLowerCase());
+            if (rs.getString(2) != null) {
+                accountEmails.add(rs.getString(2).toLowerCase());
+            }
+        });
+        return new Session(emails, accountEmails, usernames);
+    }
+
+    private class Session implements ImportSession<StudentRecord> {
+        private final Set<String> emails;
+        private final Set<String> accountEmails;
+        private final Set<String> usernames;
+        private final LocalDateTime now = LocalDateTime.now();
+
+        private Session(Set<String> emails, Set<String> accountEmails, Set<String> usernames) {
+            this.emails = emails;
+            this.accountEmails = accountEmails;
+            this.usernames = usernames;
+        }
+
+        @Override
+        public StudentRecord validate(Map<String, String> row) {
+            StudentRecord record = new StudentRecord();
+            record.fullName = ImportValues.required(row, "full_name");
+            record.email = ImportValues.email(row, "email");
+            record.phone = ImportValues.optional(row, "phone");
+            record.dateOfBirth = ImportValues.date(row, "date_of_birth");
+            record.address = ImportValues.optional(row, "address");
+            record.username = ImportValues.optional(row, "username");
+            String password = ImportValues.optional(row, "password");
+            if ((record.username == null) != (password == null)) {
+                throw new IllegalArgumentException("Cần có cả username và password để tạo tài khoản");
+            }
+            if (password != null) {
+                // Băm mật khẩu tốn CPU nên làm ở bước kiểm tra (song song), không ở bước ghi.
+                // Không qua pool của đăng nhập (hàng đợi nhỏ, import lớn làm đăng nhập bị từ chối);
+                // số luồng băm đồng thời bị giới hạn riêng để vẫn còn CPU cho request
+                record.passwordHash = passwordHasher.hashPasswordForImport(password);
+            }
+            return record;
+        }
+
+        @Override
+        public void write(List<ImportRow<StudentRecord>> rows, ImportJob job) {
+            List<ImportRow<StudentRecord>> fresh = new ArrayList<>();
+            for (ImportRow<StudentRecord> row : rows) {
+                StudentRecord record = row.getRecord();
+                String email = record.email.toLowerCase();
+                if (emails.contains(email)) {
+                    job.addError(row.getLine(), "Email đã được sử dụng: " + record.email);
+                } else if (record.username != null && usernames.contains(record.username.toLowerCase())) {
+                    job.addError(row.getLine(), "Tên đăng nhập đã tồn tại: " + record.username);
+                } else if (record.username != null && accountEmails.contains(email)) {
+                    job.addError(row.getLine(), "Email đã được sử dụng: " + record.email);
+                } else {
+                    emails.add(email);
+                    if (record.username != null) {
+                        usernames.add(record.username.toLowerCase());
+                        accountEmails.add(email);
+                    }
+                    fresh.add(row);
+                }
+            }
+
+            // Sinh viên và tài khoản của lô ghi chung một transaction: tài khoản lỗi thì
+            // sinh viên cũng không được ghi và dòng bị tính là lỗi
+            LocalDate today = now.toLocalDate();
+            List<ImportRow<StudentRecord>> written = batchInserter.insert(fresh, List.of(
+                    JdbcBatchInserter.Statement.of(INSERT_STUDENT, record -> new Object[] {
+                            record.fullName, record.email, record.phone, record.dateOfBirth, record.address, today, now
+                    }),
+                    JdbcBatchInserter.Statement.when(record -> record.username != null, INSERT_USER, record -> new Object[] {
+                            record.username, record.passwordHash, record.email, User.UserRole.STUDENT.name(), now, record.email
+                    })), job);
+            job.addImportedRows(written.size());
+            dashboardStatsCache.studentsCreated(written.size());
+
+            // Chỉ thêm các sinh viên vừa ghi vào chỉ mục tìm kiếm, không dựng lại toàn bộ
+            if (!written.isEmpty()) {
+                List<String> writtenEmails = written.stream().map(row -> row.getRecord().email).toList();
+                studentRepository.findByEmailIn(writtenEmails).forEach(searchService::indexStudent);
+            }
+        }
+    }
+
+    static class StudentRecord {
+        private String fullName;
+        private String email;
+        private String phone;
+        private LocalDate dateOfBirth;
+        private String address;
+        private String username;
+        private String passwordHash;
+    }
+}
@@ -0,0 +1,94 @@
+package com.coursemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Gom nhiều lần tra cứu ID -> entity thành một truy vấn duy nhất (kiểu DataLoader).
+ * Kết quả được nhớ lại nên cùng một ID chỉ được tải một lần trong vòng đời loader.
+ * Không an toàn đa luồng, dùng trong phạm vi một request.
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final Map<K, V> loaded = new HashMap<>();
+    private final Set<K> missing = new HashSet<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+
+    public BatchLoader(Function<Collection<K>, Map<K, V>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    /**
+     * Tạo loader từ hàm tải danh sách (ví dụ repository::findAllById) và hàm lấy khóa
+     */
+    public static <K, V> BatchLoader<K, V> of(Function<Collection<K>, ? extends Collection<V>> fetchAll,
+                                              Function<V, K> keyGetter) {
+        return new BatchLoader<>(keys -> {
+            Map<K, V> result = new HashMap<>();
+            for (V value : fetchAll.apply(keys)) {
+                result.put(keyGetter.apply(value), value);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Đăng ký khóa cần tải, truy vấn chỉ chạy khi gọi dispatch/load/loadMany
+     */
+    public BatchLoader<K, V> prime(Collection<K> keys) {
+        for (K key : keys) {
+            if (key != null && !loaded.containsKey(key) && !missing.contains(key)) {
+                pending.add(key);
+            }
+        }
+        return this;
+    }
+
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(pending);
+        pending.clear();
+        Map<K, V> result = batchFunction.apply(keys);
+        for (K key : keys) {
+            V value = result.get(key);
+            if (value != null) {
+                loaded.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+    }
+
+    public Optional<V> load(K key) {
+        prime(List.of(key));
+        dispatch();
+        return Optional.ofNullable(loaded.get(key));
+    }
+
+    /**
+     * Tải nhiều khóa trong một lần, giữ nguyên thứ tự và bỏ qua khóa không tồn tại
+     */
+    public List<V> loadMany(Collection<K> keys) {
+        prime(keys);
+        dispatch();
+        List<V> values = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            V value = loaded.get(key);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,31 @@
+package com.coursemanagement.util;
+
+import com.coursemanagement.common.CompressedText;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Nén trong suốt các cột văn bản dài (nội dung bài nộp) khi được bật.
+ * Luôn giải nén được giá trị có tiền tố {gzip}, kể cả khi đã tắt nén.
+ * Hibernate tạo converter qua Spring nên đọc được cấu hình.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    @Value("${submission.content.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${submission.content.compression.threshold-bytes:4096}")
+    private int thresholdBytes;
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return CompressedText.encode(attribute, enabled ? thresholdBytes : Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return CompressedText.decode(dbData);
+    }
+}
@@ -0,0 +1,108 @@
+package com.coursemanagement.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc CSV (RFC 4180) UTF-8 theo từng dòng, không nạp cả file vào bộ nhớ.
+ * Hỗ trợ trường trong dấu nháy kép có dấu phẩy, xuống dòng và "" thoát,
+ * tự bỏ BOM ở đầu file (file xuất từ Excel).
+ */
+public class CsvRowReader implements Closeable {
+
+    private final Reader reader;
+    private int lineNumber = 1;
+    private int rowLineNumber;
+    private int pending = -2;
+
+    public CsvRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Đọc một dòng dữ liệu, trả về null khi hết file
+     */
+    public List<String> readRow() throws IOException {
+        int c = next();
+        if (c == '\uFEFF' && rowLineNumber == 0) {
+            c = next();
+        }
+        if (c == -1) {
+            return null;
+        }
+        rowLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Dấu nháy kép không được đóng từ dòng " + rowLineNumber);
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * Số dòng trong file nơi bắt đầu dòng dữ liệu vừa đọc (bắt đầu từ 1)
+     */
+    public int getRowLineNumber() {
+        return rowLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int next() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
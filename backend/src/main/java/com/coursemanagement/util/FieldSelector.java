@@ -0,0 +1,80 @@
+package com.coursemanagement.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Xử lý tham số fields= của các endpoint danh sách.
+ * Chọn projection hẹp nhất đáp ứng được các trường yêu cầu và
+ * cắt bớt kết quả chỉ còn những trường đó.
+ */
+public class FieldSelector {
+
+    private final Set<String> fields;
+
+    private FieldSelector(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelector parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return new FieldSelector(Collections.emptySet());
+        }
+        return new FieldSelector(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Projection interface có đủ tất cả các trường được yêu cầu hay không
+     */
+    public boolean isCoveredBy(Class<?> projection) {
+        if (isAll()) {
+            return false;
+        }
+        Set<String> available = Arrays.stream(BeanUtils.getPropertyDescriptors(projection))
+                .map(PropertyDescriptor::getName)
+                .collect(Collectors.toSet());
+        return available.containsAll(fields);
+    }
+
+    /**
+     * Chỉ giữ lại các trường được yêu cầu, bỏ qua trường không tồn tại hoặc bị @JsonIgnore
+     */
+    public Object select(Object item, Class<?> entityType) {
+        if (isAll()) {
+            return item;
+        }
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(item);
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : fields) {
+            if (wrapper.isReadableProperty(name) && !isIgnored(entityType, name)) {
+                result.put(name, wrapper.getPropertyValue(name));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isIgnored(Class<?> entityType, String name) {
+        Field field = ReflectionUtils.findField(entityType, name);
+        return field != null && field.isAnnotationPresent(JsonIgnore.class);
+    }
+}
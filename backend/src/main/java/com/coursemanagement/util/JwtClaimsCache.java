@@ -0,0 +1,107 @@
+package com.coursemanagement.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache có giới hạn (Caffeine) cho claims của các JWT đã xác thực chữ ký.
+ * Khóa là SHA-256 của token (không giữ token gốc trong bộ nhớ),
+ * mỗi mục hết hạn đúng thời điểm exp của token.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, CachedClaims> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public JwtClaimsCache(JwtUtil jwtUtil, MeterRegistry meterRegistry,
+                          @Value("${jwt.claims-cache.max-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        // Caffeine đọc không khóa; mỗi mục hết hạn đúng lúc token hết hạn
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedClaims value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(value.expiresAt - System.currentTimeMillis(), 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedClaims value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedClaims value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = Counter.builder("jwt.claims.cache")
+                .tag("result", "hit")
+                .description("Số lần xác thực JWT lấy claims từ cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.claims.cache")
+                .tag("result", "miss")
+                .description("Số lần xác thực JWT phải parse và kiểm tra chữ ký")
+                .register(meterRegistry);
+        meterRegistry.gauge("jwt.claims.cache.size", cache, Cache::estimatedSize);
+    }
+
+    /**
+     * Trả về claims của token hợp lệ; ném JwtException nếu token sai chữ ký hoặc hết hạn
+     */
+    public Claims getClaims(String token) {
+        String key = hash(token);
+        CachedClaims cached = cache.getIfPresent(key);
+        // Caffeine dọn mục hết hạn theo lô, vẫn kiểm tra exp để không nhận token vừa hết hạn
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return cached.claims;
+        }
+
+        misses.increment();
+        Claims claims = jwtUtil.getAllClaimsFromToken(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            cache.put(key, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    private static class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
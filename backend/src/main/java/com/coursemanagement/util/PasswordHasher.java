@@ -1,31 +1,268 @@
 package com.coursemanagement.util;
 
+import com.coursemanagement.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Băm và kiểm tra mật khẩu bằng thuật toán thích nghi (bcrypt hoặc PBKDF2) có thể cấu hình độ khó.
+ * Hash được lưu kèm tiền tố {id}; hash PBKDF2 lưu cả số vòng ({pbkdf2}vòng$salt$hash)
+ * nên tăng độ khó không làm hỏng hash cũ. Hash MD5 cũ (không tiền tố) vẫn kiểm tra
+ * được và được đánh dấu cần băm lại. Mọi thao tác băm chạy trên một pool có giới hạn để
+ * không chiếm hết CPU của các request khác khi nhiều người đăng nhập cùng lúc.
+ */
+@Component
 public class PasswordHasher {
-    
-    public static String hashPassword(String password) {
+
+    @Value("${security.password.algorithm:pbkdf2}")
+    private String algorithm;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.pbkdf2-iterations:310000}")
+    private int pbkdf2Iterations;
+
+    // Số vòng của hash PBKDF2 dạng cũ (không lưu số vòng trong hash)
+    @Value("${security.password.pbkdf2-legacy-iterations:310000}")
+    private int pbkdf2LegacyIterations;
+
+    @Value("${security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.hash-queue-size:64}")
+    private int hashQueueSize;
+
+    @Value("${security.password.hash-timeout-ms:5000}")
+    private long hashTimeoutMs;
+
+    // Số mật khẩu import được băm đồng thời, 0 = một phần tư số CPU
+    @Value("${security.password.import-hash-threads:0}")
+    private int importHashThreads;
+
+    private PasswordEncoder encoder;
+    private ThreadPoolExecutor hashExecutor;
+    private Semaphore importPermits;
+
+    @PostConstruct
+    public void init() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", new Pbkdf2Encoder(pbkdf2Iterations, pbkdf2LegacyIterations));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Thuật toán băm mật khẩu không được hỗ trợ: " + algorithm);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new LegacyMd5Encoder());
+        encoder = delegating;
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        hashExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        importPermits = new Semaphore(importHashThreads > 0
+                ? importHashThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 4));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    public String hashPassword(String password) {
+        return runBounded(() -> encoder.encode(password));
+    }
+
+    /**
+     * Băm cho import CSV: chạy trên luồng gọi nhưng chỉ vài luồng được băm cùng lúc
+     * (import-hash-threads), luồng khác chờ tới lượt thay vì bị từ chối. Import lớn
+     * không chiếm hết CPU của request và không làm đầy hàng đợi của đăng nhập
+     */
+    public String hashPasswordForImport(String password) {
         try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] messageDigest = md.digest(password.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : messageDigest) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
+            importPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Yêu cầu bị gián đoạn");
+        }
+        try {
+            return encoder.encode(password);
+        } finally {
+            importPermits.release();
+        }
+    }
+
+    public boolean verifyPassword(String password, String hashedPassword) {
+        if (hashedPassword == null) {
+            return false;
+        }
+        return runBounded(() -> encoder.matches(password, hashedPassword));
+    }
+
+    /**
+     * Hash cũ (MD5, thuật toán khác hoặc độ khó thấp hơn cấu hình) cần được băm lại
+     */
+    public boolean needsRehash(String hashedPassword) {
+        return encoder.upgradeEncoding(hashedPassword);
+    }
+
+    private <T> T runBounded(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = hashExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Hệ thống đang bận, vui lòng thử lại sau");
+        }
+        try {
+            return future.get(hashTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Hệ thống đang bận, vui lòng thử lại sau");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Yêu cầu bị gián đoạn");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Lỗi xử lý mật khẩu", e.getCause());
+        }
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 với salt 16 byte, định dạng vòng$hex(salt)$hex(hash) giống ứng dụng desktop.
+     * Kiểm tra bằng số vòng lưu trong hash; dạng cũ hex(salt + hash) dùng số vòng legacy.
+     */
+    private static class Pbkdf2Encoder implements PasswordEncoder {
+        private static final int SALT_LENGTH = 16;
+        private static final int HASH_BITS = 256;
+        private static final SecureRandom RANDOM = new SecureRandom();
+        private static final HexFormat HEX = HexFormat.of();
+
+        private final int iterations;
+        private final int legacyIterations;
+
+        private Pbkdf2Encoder(int iterations, int legacyIterations) {
+            this.iterations = iterations;
+            this.legacyIterations = legacyIterations;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            byte[] salt = new byte[SALT_LENGTH];
+            RANDOM.nextBytes(salt);
+            return iterations + "$" + HEX.formatHex(salt) + "$" + HEX.formatHex(derive(rawPassword, salt, iterations));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                String[] parts = encodedPassword.split("\\$");
+                if (parts.length == 3) {
+                    byte[] expected = HEX.parseHex(parts[2]);
+                    return MessageDigest.isEqual(expected,
+                            derive(rawPassword, HEX.parseHex(parts[1]), Integer.parseInt(parts[0])));
+                }
+                byte[] combined = HEX.parseHex(encodedPassword);
+                if (combined.length <= SALT_LENGTH) {
+                    return false;
                 }
-                hexString.append(hex);
+                byte[] salt = Arrays.copyOfRange(combined, 0, SALT_LENGTH);
+                byte[] expected = Arrays.copyOfRange(combined, SALT_LENGTH, combined.length);
+                return MessageDigest.isEqual(expected, derive(rawPassword, salt, legacyIterations));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        // Dạng cũ hoặc số vòng thấp hơn cấu hình hiện tại thì băm lại
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            String[] parts = encodedPassword.split("\\$");
+            if (parts.length != 3) {
+                return true;
+            }
+            try {
+                return Integer.parseInt(parts[0]) < iterations;
+            } catch (NumberFormatException e) {
+                return true;
+            }
+        }
+
+        private static byte[] derive(CharSequence rawPassword, byte[] salt, int iterations) {
+            if (iterations <= 0) {
+                throw new IllegalArgumentException("Số vòng PBKDF2 không hợp lệ");
+            }
+            PBEKeySpec spec = new PBEKeySpec(rawPassword.toString().toCharArray(), salt, iterations, HASH_BITS);
+            try {
+                return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException("Error hashing password", e);
+            } finally {
+                spec.clearPassword();
             }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 algorithm not found", e);
         }
     }
 
-    public static boolean verifyPassword(String password, String hashedPassword) {
-        String hashedInput = hashPassword(password);
-        return hashedInput.equals(hashedPassword);
+    // Chỉ dùng để kiểm tra hash MD5 cũ, không bao giờ dùng để băm mới
+    private static class LegacyMd5Encoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("MD5 chỉ dùng để kiểm tra mật khẩu cũ");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                MessageDigest md = MessageDigest.getInstance("MD5");
+                byte[] messageDigest = md.digest(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+                StringBuilder hexString = new StringBuilder();
+                for (byte b : messageDigest) {
+                    String hex = Integer.toHexString(0xff & b);
+                    if (hex.length() == 1) {
+                        hexString.append('0');
+                    }
+                    hexString.append(hex);
+                }
+                return MessageDigest.isEqual(
+                        hexString.toString().getBytes(StandardCharsets.US_ASCII),
+                        encodedPassword.getBytes(StandardCharsets.US_ASCII));
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("MD5 algorithm not found", e);
+            }
+        }
     }
 }
-
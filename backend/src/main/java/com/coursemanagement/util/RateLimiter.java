@@ -0,0 +1,266 @@
+package com.coursemanagement.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Giới hạn tần suất và kiểm soát tải cho các route dễ bị dồn request
+ * (đăng nhập, đăng ký khóa học). Mỗi route có bucket theo người dùng, theo IP
+ * và bucket chung; vượt bucket riêng thì bị từ chối ngay (429), bucket chung
+ * hoặc số request đang xử lý hết chỗ thì được xếp hàng chờ một khoảng ngắn
+ * trước khi bị từ chối (503). Cả hai đều kèm Retry-After.
+ */
+@Component
+public class RateLimiter {
+
+    // Ví dụ 10/1m = 10 request mỗi phút, cho phép dồn tối đa 10
+    private static final Pattern RULE = Pattern.compile("(\\d+)/(\\d+)(ms|s|m|h)");
+
+    public enum Route {
+        LOGIN("login"), ENROLLMENT("enrollment");
+
+        private final String tag;
+
+        Route(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Map<Route, RouteLimits> routes = new EnumMap<>(Route.class);
+
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                       @Value("${rate-limit.login.per-user:10/5m}") String loginPerUser,
+                       @Value("${rate-limit.login.per-ip:10/1m}") String loginPerIp,
+                       @Value("${rate-limit.login.global:50/1s}") String loginGlobal,
+                       @Value("${rate-limit.login.max-concurrent:0}") int loginMaxConcurrent,
+                       @Value("${rate-limit.login.queue-timeout-ms:1000}") long loginQueueTimeoutMs,
+                       @Value("${rate-limit.enrollment.per-user:5/10s}") String enrollmentPerUser,
+                       @Value("${rate-limit.enrollment.per-ip:30/10s}") String enrollmentPerIp,
+                       @Value("${rate-limit.enrollment.global:200/1s}") String enrollmentGlobal,
+                       @Value("${rate-limit.enrollment.max-concurrent:20}") int enrollmentMaxConcurrent,
+                       @Value("${rate-limit.enrollment.queue-timeout-ms:2000}") long enrollmentQueueTimeoutMs) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        routes.put(Route.LOGIN, new RouteLimits(Route.LOGIN, meterRegistry, loginPerUser, loginPerIp,
+                loginGlobal, loginMaxConcurrent, loginQueueTimeoutMs));
+        routes.put(Route.ENROLLMENT, new RouteLimits(Route.ENROLLMENT, meterRegistry, enrollmentPerUser,
+                enrollmentPerIp, enrollmentGlobal, enrollmentMaxConcurrent, enrollmentQueueTimeoutMs));
+    }
+
+    /**
+     * Xin phép xử lý một request; có thể chờ (xếp hàng) tối đa queue-timeout.
+     * Khi được phép, nơi gọi phải gọi release sau khi xử lý xong.
+     */
+    public Decision acquire(Route route, String user, String ip) throws InterruptedException {
+        if (!enabled) {
+            return Decision.ALLOWED;
+        }
+        RouteLimits limits = routes.get(route);
+        long now = System.nanoTime();
+
+        // Một client vượt giới hạn riêng thì từ chối ngay, không chiếm chỗ xếp hàng
+        long wait = limits.perUser.reserve(user, now);
+        if (wait >= 0) {
+            wait = limits.perIp.reserve(ip, now);
+        }
+        if (wait < 0) {
+            limits.rejected.increment();
+            return Decision.reject(429, -wait, "Quá nhiều yêu cầu, vui lòng thử lại sau");
+        }
+
+        long deadline = now + limits.queueTimeoutNanos;
+        if (limits.global != null) {
+            wait = limits.global.reserve(now, limits.queueTimeoutNanos);
+            if (wait < 0) {
+                limits.shed.increment();
+                return Decision.reject(503, -wait, "Hệ thống đang quá tải, vui lòng thử lại sau");
+            }
+            if (wait > 0) {
+                limits.queued.increment();
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+        if (limits.concurrency != null) {
+            if (!limits.concurrency.tryAcquire()) {
+                limits.queued.increment();
+                long remaining = Math.max(deadline - System.nanoTime(), 0);
+                if (!limits.concurrency.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                    limits.shed.increment();
+                    return Decision.reject(503, limits.queueTimeoutNanos, "Hệ thống đang quá tải, vui lòng thử lại sau");
+                }
+            }
+        }
+        return Decision.ALLOWED;
+    }
+
+    public void release(Route route) {
+        if (!enabled) {
+            return;
+        }
+        Semaphore concurrency = routes.get(route).concurrency;
+        if (concurrency != null) {
+            concurrency.release();
+        }
+    }
+
+    /**
+     * Bỏ các bucket đã đầy lại (client không gửi request một thời gian)
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        long now = System.nanoTime();
+        for (RouteLimits limits : routes.values()) {
+            limits.perUser.removeFull(now);
+            limits.perIp.removeFull(now);
+        }
+    }
+
+    /**
+     * Kết quả xin phép: được xử lý, hoặc bị từ chối kèm mã lỗi và Retry-After
+     */
+    public static class Decision {
+        private static final Decision ALLOWED = new Decision(true, 0, 0, null);
+
+        private final boolean allowed;
+        private final int status;
+        private final long retryAfterSeconds;
+        private final String message;
+
+        private Decision(boolean allowed, int status, long retryAfterSeconds, String message) {
+            this.allowed = allowed;
+            this.status = status;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.message = message;
+        }
+
+        private static Decision reject(int status, long retryAfterNanos, String message) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+            return new Decision(false, status, seconds, message);
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private class RouteLimits {
+        private final KeyedBuckets perUser;
+        private final KeyedBuckets perIp;
+        private final TokenBucket global;
+        private final Semaphore concurrency;
+        private final long queueTimeoutNanos;
+        private final Counter rejected;
+        private final Counter queued;
+        private final Counter shed;
+
+        private RouteLimits(Route route, MeterRegistry meterRegistry, String perUser, String perIp,
+                            String global, int maxConcurrent, long queueTimeoutMs) {
+            this.perUser = new KeyedBuckets(Rule.parse(perUser));
+            this.perIp = new KeyedBuckets(Rule.parse(perIp));
+            Rule globalRule = Rule.parse(global);
+            this.global = globalRule != null ? globalRule.newBucket() : null;
+            this.concurrency = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+            this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+            this.rejected = counter(meterRegistry, route, "rejected", "Số request bị từ chối do vượt giới hạn riêng (429)");
+            this.queued = counter(meterRegistry, route, "queued", "Số request phải xếp hàng chờ");
+            this.shed = counter(meterRegistry, route, "shed", "Số request bị từ chối do hệ thống quá tải (503)");
+        }
+
+        private Counter counter(MeterRegistry meterRegistry, Route route, String outcome, String description) {
+            return Counter.builder("rate.limit.requests")
+                    .tag("route", route.tag)
+                    .tag("outcome", outcome)
+                    .description(description)
+                    .register(meterRegistry);
+        }
+    }
+
+    // Mỗi key (người dùng hoặc IP) một bucket, bucket đầy lại thì bỏ được
+    private class KeyedBuckets {
+        private final Rule rule;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private KeyedBuckets(Rule rule) {
+            this.rule = rule;
+        }
+
+        // Key null (chưa đăng nhập) hoặc không cấu hình giới hạn thì bỏ qua
+        private long reserve(String key, long now) {
+            if (rule == null || key == null) {
+                return 0;
+            }
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxKeys) {
+                    removeFull(now);
+                }
+                bucket = buckets.computeIfAbsent(key, k -> rule.newBucket());
+            }
+            return bucket.reserve(now, 0);
+        }
+
+        private void removeFull(long now) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private static class Rule {
+        private final int capacity;
+        private final long periodNanos;
+
+        private Rule(int capacity, long periodNanos) {
+            this.capacity = capacity;
+            this.periodNanos = periodNanos;
+        }
+
+        // Chuỗi rỗng = không giới hạn
+        private static Rule parse(String spec) {
+            if (spec == null || spec.isBlank()) {
+                return null;
+            }
+            Matcher matcher = RULE.matcher(spec.trim());
+            if (!matcher.matches() || Integer.parseInt(matcher.group(1)) <= 0) {
+                throw new IllegalArgumentException("Cấu hình rate-limit không hợp lệ: " + spec);
+            }
+            long amount = Long.parseLong(matcher.group(2));
+            long periodNanos = switch (matcher.group(3)) {
+                case "ms" -> TimeUnit.MILLISECONDS.toNanos(amount);
+                case "s" -> TimeUnit.SECONDS.toNanos(amount);
+                case "m" -> TimeUnit.MINUTES.toNanos(amount);
+                default -> TimeUnit.HOURS.toNanos(amount);
+            };
+            return new Rule(Integer.parseInt(matcher.group(1)), periodNanos);
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(capacity, periodNanos);
+        }
+    }
+}
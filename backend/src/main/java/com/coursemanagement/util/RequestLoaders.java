@@ -0,0 +1,67 @@
+package com.coursemanagement.util;
+
+import com.coursemanagement.entity.Assignment;
+import com.coursemanagement.entity.Course;
+import com.coursemanagement.entity.Instructor;
+import com.coursemanagement.entity.Student;
+import com.coursemanagement.repository.AssignmentRepository;
+import com.coursemanagement.repository.CourseRepository;
+import com.coursemanagement.repository.InstructorRepository;
+import com.coursemanagement.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Các BatchLoader dùng chung trong phạm vi một HTTP request.
+ * Controller inject bean này để đổi danh sách ID thành entity bằng một truy vấn findAllById.
+ */
+@Component
+@RequestScope
+public class RequestLoaders {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private BatchLoader<Integer, Course> courses;
+    private BatchLoader<Integer, Student> students;
+    private BatchLoader<Integer, Instructor> instructors;
+    private BatchLoader<Integer, Assignment> assignments;
+
+    public BatchLoader<Integer, Course> courses() {
+        if (courses == null) {
+            courses = BatchLoader.of(courseRepository::findAllById, Course::getCourseId);
+        }
+        return courses;
+    }
+
+    public BatchLoader<Integer, Student> students() {
+        if (students == null) {
+            students = BatchLoader.of(studentRepository::findAllById, Student::getStudentId);
+        }
+        return students;
+    }
+
+    public BatchLoader<Integer, Instructor> instructors() {
+        if (instructors == null) {
+            instructors = BatchLoader.of(instructorRepository::findAllById, Instructor::getInstructorId);
+        }
+        return instructors;
+    }
+
+    public BatchLoader<Integer, Assignment> assignments() {
+        if (assignments == null) {
+            assignments = BatchLoader.of(assignmentRepository::findAllById, Assignment::getAssignmentId);
+        }
+        return assignments;
+    }
+}
@@ -0,0 +1,17 @@
+package com.coursemanagement.util;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Ghi dữ liệu dạng bảng ra stream theo từng dòng, không giữ các dòng đã ghi trong bộ nhớ
+ */
+public interface RowWriter {
+
+    void writeRow(List<?> values) throws IOException;
+
+    /**
+     * Ghi phần kết thúc của file và flush, không đóng stream bên dưới
+     */
+    void finish() throws IOException;
+}
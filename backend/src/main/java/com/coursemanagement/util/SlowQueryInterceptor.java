@@ -0,0 +1,82 @@
+package com.coursemanagement.util;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Đo thời gian từng lời gọi repository và ghi log có cấu trúc cho những lời gọi
+ * chậm hơn ngưỡng cấu hình, kèm tên repository, phương thức, số dòng và câu SQL.
+ */
+public class SlowQueryInterceptor implements MethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger("slow-query");
+
+    private final String repositoryName;
+    private final long thresholdNanos;
+
+    public SlowQueryInterceptor(Class<?> repositoryInterface, long thresholdMs) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        List<String> previous = SlowQueryStatementInspector.begin();
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<String> statements = SlowQueryStatementInspector.end(previous);
+            if (elapsed >= thresholdNanos) {
+                log.warn("slow-query repository={} method={} durationMs={} rows={} statements={} error={} sql={}",
+                        repositoryName,
+                        invocation.getMethod().getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        error == null ? countRows(invocation, result) : -1,
+                        statements.size(),
+                        error != null ? error.getClass().getSimpleName() : "none",
+                        statements);
+            }
+        }
+    }
+
+    // Số dòng trả về (hoặc bị ảnh hưởng với câu lệnh @Modifying); -1 nếu không xác định được
+    private static long countRows(MethodInvocation invocation, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number && invocation.getMethod().isAnnotationPresent(Modifying.class)) {
+            return number.longValue();
+        }
+        if (result instanceof Iterable<?> || result instanceof Stream<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
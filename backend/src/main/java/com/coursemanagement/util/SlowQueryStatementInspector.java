@@ -0,0 +1,47 @@
+package com.coursemanagement.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ghi lại các câu SQL Hibernate phát ra trong lúc một phương thức repository đang chạy,
+ * để slow-query log biết phương thức đó đã chạy những câu lệnh nào.
+ * Không thay đổi câu SQL.
+ */
+public class SlowQueryStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_CAPTURED_STATEMENTS = 10;
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null && statements.size() < MAX_CAPTURED_STATEMENTS) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Bắt đầu ghi nhận cho luồng hiện tại, trả về danh sách trước đó để khôi phục khi gọi lồng nhau
+     */
+    public static List<String> begin() {
+        List<String> previous = CAPTURED.get();
+        CAPTURED.set(new ArrayList<>());
+        return previous;
+    }
+
+    public static List<String> end(List<String> previous) {
+        List<String> statements = CAPTURED.get();
+        if (previous != null) {
+            CAPTURED.set(previous);
+        } else {
+            CAPTURED.remove();
+        }
+        return statements != null ? statements : List.of();
+    }
+}
@@ -0,0 +1,49 @@
+package com.coursemanagement.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket không khóa, cài theo GCRA: chỉ giữ một mốc thời gian
+ * (thời điểm bucket đầy trở lại) và cập nhật bằng compare-and-set.
+ * Bucket chứa tối đa capacity token, nạp đều capacity token mỗi period.
+ */
+public class TokenBucket {
+
+    // Thời gian nạp một token
+    private final long intervalNanos;
+    // Thời gian nạp đầy bucket
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long periodNanos) {
+        this.intervalNanos = Math.max(periodNanos / capacity, 1);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Lấy một token, chấp nhận chờ tối đa maxWaitNanos.
+     * Trả về số nano giây phải chờ trước khi dùng token (0 = dùng ngay);
+     * số âm nghĩa là bị từ chối, giá trị tuyệt đối là thời gian đến khi có token.
+     */
+    public long reserve(long nowNanos, long maxWaitNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > maxWaitNanos) {
+                return -wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(wait, 0);
+            }
+        }
+    }
+
+    /**
+     * Bucket đã đầy lại, bỏ đi cũng không mất trạng thái
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() <= nowNanos;
+    }
+}
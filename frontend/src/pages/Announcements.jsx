@@ -27,6 +27,7 @@ import {
 } from "@mui/icons-material";
 import { announcementService } from "../services/announcementService";
 import { courseService } from "../services/courseService";
+import { PAGE_SIZE } from "../services/api";
 import { useAuth } from "../context/AuthContext";
 
 function Announcements() {
@@ -34,6 +35,8 @@ function Announcements() {
   const [announcements, setAnnouncements] = useState([]);
   const [courses, setCourses] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [open, setOpen] = useState(false);
   const [editing, setEditing] = useState(null);
   const [error, setError] = useState("");
@@ -49,14 +52,19 @@ function Announcements() {
     fetchCourses();
   }, []);
 
-  const fetchAnnouncements = async () => {
+  // Không có cursor: tải lại từ trang đầu; có cursor: nối trang tiếp theo
+  const fetchAnnouncements = async (cursor) => {
     try {
-      const response = await announcementService.getAll();
-      setAnnouncements(response.data);
+      if (cursor) setLoadingMore(true);
+      const response = await announcementService.getPage({ cursor, size: PAGE_SIZE });
+      const page = response.data;
+      setAnnouncements((prev) => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.hasMore ? page.nextCursor : null);
     } catch (error) {
       setError("Lỗi khi tải danh sách thông báo");
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
@@ -227,6 +235,13 @@ function Announcements() {
           </TableBody>
         </Table>
       </TableContainer>
+      {nextCursor && (
+        <Box sx={{ display: "flex", justifyContent: "center", mt: 2 }}>
+          <Button onClick={() => fetchAnnouncements(nextCursor)} disabled={loadingMore}>
+            {loadingMore ? "Đang tải..." : "Tải thêm"}
+          </Button>
+        </Box>
+      )}
 
       <Dialog open={open} onClose={handleClose} maxWidth="md" fullWidth>
         <DialogTitle>
@@ -26,11 +26,14 @@ import {
 } from "@mui/icons-material";
 import { assignmentService } from "../services/assignmentService";
 import { courseService } from "../services/courseService";
+import { PAGE_SIZE } from "../services/api";
 
 function Assignments() {
   const [assignments, setAssignments] = useState([]);
   const [courses, setCourses] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [open, setOpen] = useState(false);
   const [editing, setEditing] = useState(null);
   const [error, setError] = useState("");
@@ -49,14 +52,19 @@ function Assignments() {
     fetchCourses();
   }, []);
 
-  const fetchAssignments = async () => {
+  // Không có cursor: tải lại từ trang đầu; có cursor: nối trang tiếp theo
+  const fetchAssignments = async (cursor) => {
     try {
-      const response = await assignmentService.getAll();
-      setAssignments(response.data);
+      if (cursor) setLoadingMore(true);
+      const response = await assignmentService.getPage({ cursor, size: PAGE_SIZE });
+      const page = response.data;
+      setAssignments((prev) => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.hasMore ? page.nextCursor : null);
     } catch (error) {
       setError("Lỗi khi tải danh sách bài tập");
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
@@ -210,6 +218,13 @@ function Assignments() {
           </TableBody>
         </Table>
       </TableContainer>
+      {nextCursor && (
+        <Box sx={{ display: "flex", justifyContent: "center", mt: 2 }}>
+          <Button onClick={() => fetchAssignments(nextCursor)} disabled={loadingMore}>
+            {loadingMore ? "Đang tải..." : "Tải thêm"}
+          </Button>
+        </Box>
+      )}
 
       <Dialog open={open} onClose={handleClose} maxWidth="md" fullWidth>
         <DialogTitle>
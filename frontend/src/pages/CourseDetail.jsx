@@ -415,10 +415,22 @@ function CourseDetail() {
       const existingSubmission = studentSubmissions[assignment.assignmentId];
       if (existingSubmission) {
         setSubmissionForm({
-          content: existingSubmission.content || "",
+          content: "",
           file: null,
           fileName: existingSubmission.attachment || "",
         });
+        // Danh sách bài nộp không kèm nội dung, nạp riêng bài đang mở
+        try {
+          const res = await submissionService.getById(
+            existingSubmission.submissionId
+          );
+          setSubmissionForm((form) => ({
+            ...form,
+            content: res.data.content || "",
+          }));
+        } catch (err) {
+          console.error("Error fetching submission:", err);
+        }
       } else {
         setSubmissionForm({
           content: "",
@@ -474,12 +486,22 @@ function CourseDetail() {
   };
 
   // Grading handlers
-  const handleOpenGradingDialog = (submission) => {
+  const handleOpenGradingDialog = async (submission) => {
     setGradingDialog({ open: true, submission });
     setGradingForm({
       score: submission.score !== null ? submission.score.toString() : "",
       status: submission.status || "submitted",
     });
+    // Danh sách chỉ có thông tin tóm tắt, nạp nội dung bài nộp khi mở
+    try {
+      const res = await submissionService.getById(submission.submissionId);
+      setGradingDialog({
+        open: true,
+        submission: { ...submission, content: res.data.content },
+      });
+    } catch (err) {
+      console.error("Error fetching submission:", err);
+    }
   };
 
   const handleCloseGradingDialog = () => {
@@ -604,15 +626,6 @@ function CourseDetail() {
       // Kiểm tra xem đã nộp bài chưa
       const existingSubmission = studentSubmissions[assignmentId];
 
-      // Tạo FormData để upload file
-      const formData = new FormData();
-      formData.append("assignmentId", assignmentId);
-      formData.append("studentId", studentId);
-      formData.append("content", submissionForm.content);
-      if (submissionForm.file) {
-        formData.append("file", submissionForm.file);
-      }
-
       let submissionData;
       if (existingSubmission) {
         // Cập nhật submission
@@ -620,21 +633,23 @@ function CourseDetail() {
           assignmentId: assignmentId,
           studentId: studentId,
           content: submissionForm.content,
-          attachment: submissionForm.fileName || existingSubmission.attachment,
+          attachment: submissionForm.file
+            ? existingSubmission.attachment
+            : submissionForm.fileName || existingSubmission.attachment,
           status: "submitted",
         };
 
-        // Nếu có file mới, cần upload
-        if (submissionForm.file) {
-          // TODO: Implement file upload API
-          // For now, we'll just use the filename
-          submissionData.attachment = submissionForm.fileName;
-        }
-
         await submissionService.update(
           existingSubmission.submissionId,
           submissionData
         );
+        // File mới được tải lên riêng, server gán lại đường dẫn tải về
+        if (submissionForm.file) {
+          await submissionService.uploadAttachment(
+            existingSubmission.submissionId,
+            submissionForm.file
+          );
+        }
         setSuccess("Cập nhật bài nộp thành công!");
       } else {
         // Tạo submission mới
@@ -642,12 +657,18 @@ function CourseDetail() {
           assignmentId: assignmentId,
           studentId: studentId,
           content: submissionForm.content,
-          attachment: submissionForm.fileName || null,
+          attachment: submissionForm.file ? null : submissionForm.fileName || null,
           status: "submitted",
           submittedDate: new Date().toISOString().split("T")[0],
         };
 
-        await submissionService.create(submissionData);
+        const created = await submissionService.create(submissionData);
+        if (submissionForm.file) {
+          await submissionService.uploadAttachment(
+            created.data.submissionId,
+            submissionForm.file
+          );
+        }
         setSuccess("Nộp bài thành công!");
       }
 
@@ -1872,22 +1893,15 @@ function CourseDetail() {
                                 {formatDate(submission.submittedDate)}
                               </TableCell>
                               <TableCell>
-                                {submission.content ? (
-                                  <Typography
-                                    variant="body2"
-                                    sx={{
-                                      maxWidth: 200,
-                                      overflow: "hidden",
-                                      textOverflow: "ellipsis",
-                                      whiteSpace: "nowrap",
-                                    }}
-                                    title={submission.content}
-                                  >
-                                    {submission.content}
-                                  </Typography>
-                                ) : (
-                                  "-"
-                                )}
+                                {/* Danh sách không kèm nội dung, mở hộp chấm điểm để xem */}
+                                <Button
+                                  size="small"
+                                  onClick={() =>
+                                    handleOpenGradingDialog(submission)
+                                  }
+                                >
+                                  Xem
+                                </Button>
                               </TableCell>
                               <TableCell>
                                 {submission.attachment ? (
@@ -46,6 +46,7 @@ import { courseService } from "../services/courseService";
 import { enrollmentService } from "../services/enrollmentService";
 import { instructorService } from "../services/instructorService";
 import { registrationPeriodService } from "../services/registrationPeriodService";
+import { PAGE_SIZE } from "../services/api";
 import { useAuth } from "../context/AuthContext";
 
 function Enrollments() {
@@ -56,6 +57,8 @@ function Enrollments() {
   const [activePeriods, setActivePeriods] = useState([]);
   const [periodCourses, setPeriodCourses] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState("");
   const [success, setSuccess] = useState("");
 
@@ -94,8 +97,11 @@ function Enrollments() {
         setEnrollments(enrollmentsRes.data);
         setActivePeriods(periodsRes.data);
       } else if (isAdmin) {
-        const enrollmentsRes = await enrollmentService.getAll();
-        setEnrollments(enrollmentsRes.data);
+        const enrollmentsRes = await enrollmentService.getPage({ size: PAGE_SIZE });
+        setEnrollments(enrollmentsRes.data.items);
+        setNextCursor(
+          enrollmentsRes.data.hasMore ? enrollmentsRes.data.nextCursor : null
+        );
       }
     } catch (err) {
       console.error("Error fetching data:", err);
@@ -105,6 +111,20 @@ function Enrollments() {
     }
   };
 
+  // Nối trang đăng ký tiếp theo vào bảng (admin)
+  const fetchMoreEnrollments = async (cursor) => {
+    try {
+      setLoadingMore(true);
+      const res = await enrollmentService.getPage({ cursor, size: PAGE_SIZE });
+      setEnrollments((prev) => [...prev, ...res.data.items]);
+      setNextCursor(res.data.hasMore ? res.data.nextCursor : null);
+    } catch (err) {
+      setError("Lỗi khi tải dữ liệu");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // Chọn đợt đăng ký
   const handleSelectPeriod = async (period) => {
     setSelectedPeriod(period);
@@ -184,7 +204,9 @@ function Enrollments() {
       setTimeout(() => setSuccess(""), 5000);
     } catch (err) {
       console.error("Error registering:", err);
-      setError(err.response?.data || "Lỗi khi đăng ký khóa học");
+      setError(
+        err.response?.data?.error || err.response?.data || "Lỗi khi đăng ký khóa học"
+      );
     } finally {
       setRegistering(false);
     }
@@ -335,6 +357,16 @@ function Enrollments() {
             </TableBody>
           </Table>
         </TableContainer>
+        {nextCursor && (
+          <Box sx={{ display: "flex", justifyContent: "center", mt: 2 }}>
+            <Button
+              onClick={() => fetchMoreEnrollments(nextCursor)}
+              disabled={loadingMore}
+            >
+              {loadingMore ? "Đang tải..." : "Tải thêm"}
+            </Button>
+          </Box>
+        )}
       </Box>
     );
   }
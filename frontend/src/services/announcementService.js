@@ -1,7 +1,8 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const announcementService = {
-  getAll: () => api.get('/announcements'),
+  getAll: (params, onPage) => fetchAllPages('/announcements', params, onPage),
+  getPage: (params) => api.get('/announcements', { params }),
   getById: (id) => api.get(`/announcements/${id}`),
   create: (data) => api.post('/announcements', data),
   update: (id, data) => api.put(`/announcements/${id}`, data),
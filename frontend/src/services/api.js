@@ -5,8 +5,14 @@ const api = axios.create({
   headers: {
     "Content-Type": "application/json",
   },
+  // 304 là phản hồi hợp lệ của GET có If-None-Match
+  validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
 });
 
+// ETag và dữ liệu của các GET gần đây, theo URL đầy đủ (kể cả query)
+const etagCache = new Map();
+const ETAG_CACHE_LIMIT = 200;
+
 // Request interceptor để thêm token
 api.interceptors.request.use(
   (config) => {
@@ -14,6 +20,12 @@ api.interceptors.request.use(
     if (token) {
       config.headers.Authorization = `Bearer ${token}`;
     }
+    if (config.method === "get") {
+      const cached = etagCache.get(api.getUri(config));
+      if (cached) {
+        config.headers["If-None-Match"] = cached.etag;
+      }
+    }
     return config;
   },
   (error) => {
@@ -23,7 +35,25 @@ api.interceptors.request.use(
 
 // Response interceptor để xử lý lỗi
 api.interceptors.response.use(
-  (response) => response,
+  (response) => {
+    if (response.config.method !== "get") {
+      return response;
+    }
+    const key = api.getUri(response.config);
+    // Dữ liệu không đổi: dùng lại bản đã lưu, nơi gọi vẫn nhận 200 như bình thường
+    if (response.status === 304) {
+      return { ...response, status: 200, data: etagCache.get(key)?.data };
+    }
+    const etag = response.headers.etag;
+    if (etag) {
+      etagCache.delete(key);
+      etagCache.set(key, { etag, data: response.data });
+      if (etagCache.size > ETAG_CACHE_LIMIT) {
+        etagCache.delete(etagCache.keys().next().value);
+      }
+    }
+    return response;
+  },
   (error) => {
     if (error.response?.status === 401) {
       localStorage.removeItem("token");
@@ -34,4 +64,28 @@ api.interceptors.response.use(
   }
 );
 
+// Số bản ghi mỗi lần "Tải thêm" trên các trang danh sách
+export const PAGE_SIZE = 50;
+
+// Duyệt lần lượt từng trang của endpoint phân trang theo cursor
+export async function* iteratePages(url, params = {}) {
+  let cursor;
+  do {
+    const response = await api.get(url, { params: { ...params, cursor } });
+    yield response.data.items;
+    cursor = response.data.hasMore ? response.data.nextCursor : undefined;
+  } while (cursor !== undefined);
+}
+
+// Gom tất cả các trang; chỉ dùng cho danh mục nhỏ cần đủ (dropdown khóa học, giảng viên),
+// danh sách lớn dùng getPage và tải thêm khi người dùng yêu cầu
+export const fetchAllPages = async (url, params = {}, onPage) => {
+  const items = [];
+  for await (const page of iteratePages(url, params)) {
+    items.push(...page);
+    onPage?.(items);
+  }
+  return { data: items };
+};
+
 export default api;
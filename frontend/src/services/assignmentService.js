@@ -1,7 +1,8 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const assignmentService = {
-  getAll: () => api.get('/assignments'),
+  getAll: (params, onPage) => fetchAllPages('/assignments', params, onPage),
+  getPage: (params) => api.get('/assignments', { params }),
   getById: (id) => api.get(`/assignments/${id}`),
   create: (data) => api.post('/assignments', data),
   update: (id, data) => api.put(`/assignments/${id}`, data),
@@ -1,11 +1,16 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const courseService = {
-  getAll: () => api.get('/courses'),
+  // Trang tối đa: danh sách vừa một trang thì server trả bản JSON/gzip dựng sẵn
+  getAll: (params, onPage) => fetchAllPages('/courses', { size: 1000, ...params }, onPage),
+  getPage: (params) => api.get('/courses', { params }),
   getById: (id) => api.get(`/courses/${id}`),
   create: (data) => api.post('/courses', data),
   update: (id, data) => api.put(`/courses/${id}`, data),
   delete: (id) => api.delete(`/courses/${id}`),
   getByInstructor: (instructorId) => api.get(`/courses/instructor/${instructorId}`),
+  // format: 'csv' hoặc 'xlsx'
+  downloadGradebook: (id, format = 'csv') =>
+    api.get(`/courses/${id}/gradebook.${format}`, { responseType: 'blob' }),
 };
 
@@ -2,5 +2,7 @@ import api from './api';
 
 export const dashboardService = {
   getStats: () => api.get('/dashboard/stats'),
+  getCourseStats: (courseId) => api.get(`/dashboard/stats/course/${courseId}`),
+  getInstructorStats: (instructorId) => api.get(`/dashboard/stats/instructor/${instructorId}`),
 };
 
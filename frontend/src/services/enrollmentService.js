@@ -1,7 +1,8 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const enrollmentService = {
-  getAll: () => api.get('/enrollments'),
+  getAll: (params, onPage) => fetchAllPages('/enrollments', params, onPage),
+  getPage: (params) => api.get('/enrollments', { params }),
   getById: (id) => api.get(`/enrollments/${id}`),
   create: (data) => api.post('/enrollments', data),
   update: (id, data) => api.put(`/enrollments/${id}`, data),
@@ -0,0 +1,15 @@
+import api from './api';
+
+// Nhận sự kiện đẩy từ server (SSE) thay cho gọi lại API định kỳ.
+// channels: ví dụ ['course:1', 'student:5']; handlers: { announcement, grade, resync }
+// Trả về hàm đóng kết nối. Trình duyệt tự kết nối lại và gửi Last-Event-ID.
+export const eventService = {
+  subscribe: (channels, handlers) => {
+    const url = `${api.defaults.baseURL}/events?channels=${encodeURIComponent(channels.join(','))}`;
+    const source = new EventSource(url);
+    Object.entries(handlers).forEach(([name, handler]) => {
+      source.addEventListener(name, (event) => handler(JSON.parse(event.data)));
+    });
+    return () => source.close();
+  },
+};
@@ -0,0 +1,15 @@
+import api from './api';
+
+export const importService = {
+  // type: 'students' | 'enrollments' | 'period-courses'
+  start: (type, file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    return api.post(`/imports/${type}`, formData, { headers: { 'Content-Type': 'multipart/form-data' } });
+  },
+  getAll: () => api.get('/imports'),
+  // Gọi định kỳ để theo dõi tiến độ trong khi job đang chạy
+  getById: (jobId) => api.get(`/imports/${jobId}`),
+  getErrors: (jobId, offset = 0, limit = 100) =>
+    api.get(`/imports/${jobId}/errors`, { params: { offset, limit } }),
+};
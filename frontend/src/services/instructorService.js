@@ -1,7 +1,8 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const instructorService = {
-  getAll: () => api.get('/instructors'),
+  getAll: (params, onPage) => fetchAllPages('/instructors', params, onPage),
+  getPage: (params) => api.get('/instructors', { params }),
   getById: (id) => api.get(`/instructors/${id}`),
   create: (data) => api.post('/instructors', data),
   update: (id, data) => api.put(`/instructors/${id}`, data),
@@ -0,0 +1,7 @@
+import api from './api';
+
+export const searchService = {
+  // types: mảng 'course' | 'student' | 'instructor', bỏ trống để tìm tất cả
+  search: (q, types, limit) =>
+    api.get('/search', { params: { q, type: types?.length ? types.join(',') : undefined, limit } }),
+};
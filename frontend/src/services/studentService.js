@@ -1,10 +1,14 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const studentService = {
-  getAll: () => api.get('/students'),
+  getAll: (params, onPage) => fetchAllPages('/students', params, onPage),
+  getPage: (params) => api.get('/students', { params }),
   getById: (id) => api.get(`/students/${id}`),
   create: (data) => api.post('/students', data),
   update: (id, data) => api.put(`/students/${id}`, data),
   delete: (id) => api.delete(`/students/${id}`),
+  getFeed: (id, params) => api.get(`/students/${id}/feed`, { params }),
+  getUnreadCount: (id) => api.get(`/students/${id}/feed/unread-count`),
+  markFeedRead: (id, upTo) => api.post(`/students/${id}/feed/read`, null, { params: { upTo } }),
 };
 
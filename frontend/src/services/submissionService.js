@@ -1,11 +1,18 @@
-import api from './api';
+import api, { fetchAllPages } from './api';
 
 export const submissionService = {
-  getAll: () => api.get('/submissions'),
+  getAll: (params, onPage) => fetchAllPages('/submissions', params, onPage),
+  getPage: (params) => api.get('/submissions', { params }),
   getById: (id) => api.get(`/submissions/${id}`),
   create: (data) => api.post('/submissions', data),
   update: (id, data) => api.put(`/submissions/${id}`, data),
   delete: (id) => api.delete(`/submissions/${id}`),
+  // Tải file đính kèm lên kho của server, bài nộp được gán đường dẫn tải về
+  uploadAttachment: (id, file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    return api.post(`/submissions/${id}/attachment`, formData, { headers: { 'Content-Type': 'multipart/form-data' } });
+  },
   getByAssignment: (assignmentId) => api.get(`/submissions/assignment/${assignmentId}`),
   getByStudent: (studentId) => api.get(`/submissions/student/${studentId}`),
 };
@@ -0,0 +1,62 @@
+package com.coursemanagement.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Nén văn bản dài để lưu vào cột TEXT: "{gzip}" + Base64(gzip(UTF-8)).
+ * Giá trị không có tiền tố là văn bản thường, nên dữ liệu cũ vẫn đọc được
+ * và ứng dụng chỉ đọc (không nén) vẫn hoạt động.
+ */
+public final class CompressedText {
+
+    public static final String PREFIX = "{gzip}";
+
+    private CompressedText() {
+    }
+
+    /**
+     * Nén nếu văn bản dài từ threshold byte trở lên và bản nén ngắn hơn.
+     * Văn bản thường tình cờ bắt đầu bằng tiền tố luôn được nén để đọc lại không nhầm.
+     */
+    public static String encode(String text, int threshold) {
+        if (text == null) {
+            return null;
+        }
+        boolean ambiguous = text.startsWith(PREFIX);
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (!ambiguous && raw.length < threshold) {
+            return text;
+        }
+        String encoded = PREFIX + Base64.getEncoder().encodeToString(gzip(raw));
+        return ambiguous || encoded.length() < text.length() ? encoded : text;
+    }
+
+    public static String decode(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return stored;
+        }
+        byte[] compressed = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nội dung nén bị hỏng", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,335 @@
+package com.coursemanagement.common;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Chỉ mục đảo ngược trong bộ nhớ cho tìm kiếm toàn văn.
+ * Văn bản được bỏ dấu tiếng Việt ("Nguyễn Đức" -> "nguyen duc") rồi tách từ.
+ * Mỗi từ khóa trong câu tìm kiếm khớp theo thứ tự ưu tiên: trùng khớp,
+ * tiền tố, hoặc sai một ký tự (dùng bảng xóa-một-ký-tự để tra nhanh).
+ * Kết quả phải khớp tất cả từ khóa.
+ */
+public class SearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Từ ngắn hơn độ dài này không được tìm gần đúng để tránh nhiễu
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Document>> postings = new TreeMap<>();
+    // Từ đã xóa một ký tự -> các từ gốc trong chỉ mục
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+
+    /**
+     * Thêm hoặc cập nhật một tài liệu, các trường được nối lại để đánh chỉ mục
+     */
+    public void put(String type, Integer id, String title, String subtitle, String... fields) {
+        Set<String> terms = new HashSet<>();
+        for (String field : fields) {
+            terms.addAll(tokenize(field));
+        }
+        Document document = new Document(type, id, title, subtitle, terms);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(document.key, document);
+            if (previous != null) {
+                unindex(previous);
+            }
+            for (String term : terms) {
+                Set<Document> docs = postings.get(term);
+                if (docs == null) {
+                    docs = new HashSet<>();
+                    postings.put(term, docs);
+                    for (String deletion : deletionsOf(term)) {
+                        deletions.computeIfAbsent(deletion, k -> new HashSet<>()).add(term);
+                    }
+                }
+                docs.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String type, Integer id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(key(type, id));
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            deletions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tìm kiếm, types rỗng hoặc null nghĩa là mọi loại tài liệu
+     */
+    public List<Hit> search(String query, Collection<String> types, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Map<Document, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryTerm : queryTerms) {
+                Map<Document, Integer> termScores = match(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Giữ lại tài liệu khớp cả từ khóa này
+                    Map<Document, Integer> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Document, Integer> entry : termScores.entrySet()) {
+                        Integer score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<Document, Integer> entry : scores.entrySet()) {
+            Document document = entry.getKey();
+            if (types == null || types.isEmpty() || types.contains(document.type)) {
+                hits.add(new Hit(document.type, document.id, document.title, document.subtitle, entry.getValue()));
+            }
+        }
+        hits.sort((a, b) -> b.score != a.score
+                ? Integer.compare(b.score, a.score)
+                : String.valueOf(a.title).compareToIgnoreCase(String.valueOf(b.title)));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Bỏ dấu tiếng Việt và chuyển về chữ thường
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase().replace('đ', 'd');
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_WORD.split(fold(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Điểm cao nhất mà mỗi tài liệu đạt được với một từ khóa
+    private Map<Document, Integer> match(String queryTerm) {
+        Map<Document, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Set<Document>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            int score = entry.getKey().equals(queryTerm) ? EXACT_SCORE : PREFIX_SCORE;
+            for (Document document : entry.getValue()) {
+                scores.merge(document, score, Math::max);
+            }
+        }
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : fuzzyCandidates(queryTerm)) {
+                for (Document document : postings.get(term)) {
+                    scores.merge(document, FUZZY_SCORE, Math::max);
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Các từ trong chỉ mục cách từ khóa đúng một lần sửa
+     * (thêm, bớt, thay hoặc đảo hai ký tự liền kề)
+     */
+    private Set<String> fuzzyCandidates(String queryTerm) {
+        Set<String> candidates = new HashSet<>();
+        List<String> probes = deletionsOf(queryTerm);
+        probes.add(queryTerm);
+        for (String probe : probes) {
+            if (postings.containsKey(probe)) {
+                candidates.add(probe);
+            }
+            Set<String> originals = deletions.get(probe);
+            if (originals != null) {
+                candidates.addAll(originals);
+            }
+        }
+        candidates.removeIf(term -> term.equals(queryTerm) || !withinOneEdit(queryTerm, term));
+        return candidates;
+    }
+
+    private void unindex(Document document) {
+        for (String term : document.terms) {
+            Set<Document> docs = postings.get(term);
+            if (docs == null) {
+                continue;
+            }
+            docs.remove(document);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                for (String deletion : deletionsOf(term)) {
+                    Set<String> originals = deletions.get(deletion);
+                    if (originals != null) {
+                        originals.remove(term);
+                        if (originals.isEmpty()) {
+                            deletions.remove(deletion);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>();
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return result;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    // Khoảng cách Damerau-Levenshtein không vượt quá 1
+    private static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDiff > 0) {
+            return a.substring(i + 1).equals(b.substring(i));
+        }
+        if (lengthDiff < 0) {
+            return a.substring(i).equals(b.substring(i + 1));
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.substring(i + 1).equals(b.substring(i + 1))) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.substring(i + 2).equals(b.substring(i + 2));
+    }
+
+    private static String key(String type, Integer id) {
+        return type + ":" + id;
+    }
+
+    private static class Document {
+        private final String key;
+        private final String type;
+        private final Integer id;
+        private final String title;
+        private final String subtitle;
+        private final Set<String> terms;
+
+        private Document(String type, Integer id, String title, String subtitle, Set<String> terms) {
+            this.key = key(type, id);
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.subtitle = subtitle;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Một kết quả tìm kiếm
+     */
+    public static class Hit {
+        private final String type;
+        private final Integer id;
+        private final String title;
+        private final String subtitle;
+        private final int score;
+
+        public Hit(String type, Integer id, String title, String subtitle, int score) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.subtitle = subtitle;
+            this.score = score;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getSubtitle() {
+            return subtitle;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+}
@@ -11,10 +11,10 @@ import java.util.List;
  * Data Access Object cho Announcement
  */
 public class AnnouncementDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public AnnouncementDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -23,7 +23,8 @@ public class AnnouncementDAO {
     public boolean insert(Announcement announcement) {
         String sql = "INSERT INTO announcements (course_id, instructor_id, title, content, priority) " +
                      "VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, announcement.getCourseId());
             pstmt.setInt(2, announcement.getInstructorId());
             pstmt.setString(3, announcement.getTitle());
@@ -50,7 +51,8 @@ public class AnnouncementDAO {
     public boolean update(Announcement announcement) {
         String sql = "UPDATE announcements SET course_id = ?, title = ?, content = ?, priority = ? " +
                      "WHERE announcement_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, announcement.getCourseId());
             pstmt.setString(2, announcement.getTitle());
             pstmt.setString(3, announcement.getContent());
@@ -69,7 +71,8 @@ public class AnnouncementDAO {
      */
     public boolean delete(int announcementId) {
         String sql = "DELETE FROM announcements WHERE announcement_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, announcementId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -87,7 +90,8 @@ public class AnnouncementDAO {
                      "JOIN courses c ON a.course_id = c.course_id " +
                      "JOIN instructors i ON a.instructor_id = i.instructor_id " +
                      "WHERE a.announcement_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, announcementId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -109,7 +113,8 @@ public class AnnouncementDAO {
                      "JOIN courses c ON a.course_id = c.course_id " +
                      "JOIN instructors i ON a.instructor_id = i.instructor_id " +
                      "ORDER BY a.created_at DESC";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 announcements.add(extractAnnouncementFromResultSet(rs));
@@ -130,7 +135,8 @@ public class AnnouncementDAO {
                      "JOIN courses c ON a.course_id = c.course_id " +
                      "JOIN instructors i ON a.instructor_id = i.instructor_id " +
                      "WHERE a.course_id = ? ORDER BY a.created_at DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, courseId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -142,6 +148,37 @@ public class AnnouncementDAO {
         return announcements;
     }
 
+    /**
+     * Lấy các thông báo mới nhất.
+     * Nếu có studentId thì chỉ lấy thông báo của khóa học sinh viên đã đăng ký
+     */
+    public List<Announcement> findRecent(Integer studentId, int limit) {
+        List<Announcement> announcements = new ArrayList<>();
+        String sql = "SELECT a.*, c.course_name, i.full_name as instructor_name " +
+                     "FROM announcements a " +
+                     "JOIN courses c ON a.course_id = c.course_id " +
+                     "JOIN instructors i ON a.instructor_id = i.instructor_id " +
+                     (studentId != null
+                         ? "WHERE a.course_id IN (SELECT e.course_id FROM enrollments e WHERE e.student_id = ?) "
+                         : "") +
+                     "ORDER BY a.created_at DESC LIMIT ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (studentId != null) {
+                pstmt.setInt(index++, studentId);
+            }
+            pstmt.setInt(index, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                announcements.add(extractAnnouncementFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Lỗi lấy thông báo mới: " + e.getMessage());
+        }
+        return announcements;
+    }
+
     /**
      * Trích xuất Announcement từ ResultSet
      */
@@ -6,15 +6,16 @@ import model.Assignment;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object cho Assignment
  */
 public class AssignmentDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public AssignmentDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -23,7 +24,8 @@ public class AssignmentDAO {
     public boolean insert(Assignment assignment) {
         String sql = "INSERT INTO assignments (course_id, title, description, due_date, " +
                      "max_score, assignment_type, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, assignment.getCourseId());
             pstmt.setString(2, assignment.getTitle());
             pstmt.setString(3, assignment.getDescription());
@@ -53,7 +55,8 @@ public class AssignmentDAO {
         String sql = "UPDATE assignments SET course_id = ?, title = ?, description = ?, " +
                      "due_date = ?, max_score = ?, assignment_type = ?, status = ? " +
                      "WHERE assignment_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, assignment.getCourseId());
             pstmt.setString(2, assignment.getTitle());
             pstmt.setString(3, assignment.getDescription());
@@ -75,7 +78,8 @@ public class AssignmentDAO {
      */
     public boolean delete(int assignmentId) {
         String sql = "DELETE FROM assignments WHERE assignment_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, assignmentId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -91,7 +95,8 @@ public class AssignmentDAO {
         String sql = "SELECT a.*, c.course_name FROM assignments a " +
                      "JOIN courses c ON a.course_id = c.course_id " +
                      "WHERE a.assignment_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, assignmentId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -108,18 +113,29 @@ public class AssignmentDAO {
      */
     public List<Assignment> findAll() {
         List<Assignment> assignments = new ArrayList<>();
+        forEach(assignments::add);
+        return assignments;
+    }
+
+    /**
+     * Duyệt toàn bộ bài tập trực tiếp trên ResultSet đang mở, không gom thành List.
+     * action ném RuntimeException thì dừng đọc và connection được trả lại pool
+     */
+    public void forEach(Consumer<Assignment> action) {
         String sql = "SELECT a.*, c.course_name FROM assignments a " +
                      "JOIN courses c ON a.course_id = c.course_id " +
                      "ORDER BY a.due_date DESC, a.created_at DESC";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                assignments.add(extractAssignmentFromResultSet(rs));
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(database.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    action.accept(extractAssignmentFromResultSet(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Lỗi lấy danh sách bài tập: " + e.getMessage());
         }
-        return assignments;
     }
 
     /**
@@ -130,7 +146,8 @@ public class AssignmentDAO {
         String sql = "SELECT a.*, c.course_name FROM assignments a " +
                      "JOIN courses c ON a.course_id = c.course_id " +
                      "WHERE a.course_id = ? ORDER BY a.due_date DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, courseId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -142,6 +159,38 @@ public class AssignmentDAO {
         return assignments;
     }
 
+    /**
+     * Lấy bài tập có hạn nộp, sắp theo hạn gần nhất.
+     * Nếu có studentId thì chỉ lấy bài tập thuộc khóa học sinh viên đã đăng ký
+     * và sinh viên chưa nộp
+     */
+    public List<Assignment> findUpcoming(Integer studentId) {
+        List<Assignment> assignments = new ArrayList<>();
+        String sql = "SELECT a.*, c.course_name FROM assignments a " +
+                     "JOIN courses c ON a.course_id = c.course_id " +
+                     "WHERE a.due_date IS NOT NULL " +
+                     (studentId != null
+                         ? "AND a.course_id IN (SELECT e.course_id FROM enrollments e WHERE e.student_id = ?) " +
+                           "AND NOT EXISTS (SELECT 1 FROM submissions s " +
+                           "WHERE s.assignment_id = a.assignment_id AND s.student_id = ?) "
+                         : "") +
+                     "ORDER BY a.due_date";
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            if (studentId != null) {
+                pstmt.setInt(1, studentId);
+                pstmt.setInt(2, studentId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                assignments.add(extractAssignmentFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Lỗi lấy bài tập sắp đến hạn: " + e.getMessage());
+        }
+        return assignments;
+    }
+
     /**
      * Trích xuất Assignment từ ResultSet
      */
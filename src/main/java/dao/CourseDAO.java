@@ -6,15 +6,16 @@ import model.Course;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object cho Course
  */
 public class CourseDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public CourseDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -23,7 +24,8 @@ public class CourseDAO {
     public boolean insert(Course course) {
         String sql = "INSERT INTO courses (course_name, course_code, description, instructor_id, " +
                      "duration_weeks, price, max_students, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, course.getCourseName());
             pstmt.setString(2, course.getCourseCode());
             pstmt.setString(3, course.getDescription());
@@ -35,6 +37,8 @@ public class CourseDAO {
             
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                SearchDAO.invalidate();
+                PanelCache.invalidate(PanelCache.COURSES);
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     course.setCourseId(rs.getInt(1));
@@ -54,7 +58,8 @@ public class CourseDAO {
         String sql = "UPDATE courses SET course_name = ?, course_code = ?, description = ?, " +
                      "instructor_id = ?, duration_weeks = ?, price = ?, max_students = ?, status = ? " +
                      "WHERE course_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, course.getCourseName());
             pstmt.setString(2, course.getCourseCode());
             pstmt.setString(3, course.getDescription());
@@ -65,7 +70,10 @@ public class CourseDAO {
             pstmt.setString(8, course.getStatus());
             pstmt.setInt(9, course.getCourseId());
             
-            return pstmt.executeUpdate() > 0;
+            int affectedRows = pstmt.executeUpdate();
+            SearchDAO.invalidate();
+            PanelCache.invalidate(PanelCache.COURSES);
+            return affectedRows > 0;
         } catch (SQLException e) {
             System.err.println("Lỗi cập nhật khóa học: " + e.getMessage());
         }
@@ -77,9 +85,13 @@ public class CourseDAO {
      */
     public boolean delete(int courseId) {
         String sql = "DELETE FROM courses WHERE course_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, courseId);
-            return pstmt.executeUpdate() > 0;
+            int affectedRows = pstmt.executeUpdate();
+            SearchDAO.invalidate();
+            PanelCache.invalidate(PanelCache.COURSES);
+            return affectedRows > 0;
         } catch (SQLException e) {
             System.err.println("Lỗi xóa khóa học: " + e.getMessage());
         }
@@ -93,7 +105,8 @@ public class CourseDAO {
         String sql = "SELECT c.*, i.full_name as instructor_name FROM courses c " +
                      "LEFT JOIN instructors i ON c.instructor_id = i.instructor_id " +
                      "WHERE c.course_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, courseId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -110,18 +123,29 @@ public class CourseDAO {
      */
     public List<Course> findAll() {
         List<Course> courses = new ArrayList<>();
+        forEach(courses::add);
+        return courses;
+    }
+
+    /**
+     * Duyệt toàn bộ khóa học trực tiếp trên ResultSet đang mở, không gom thành List.
+     * action ném RuntimeException thì dừng đọc và connection được trả lại pool
+     */
+    public void forEach(Consumer<Course> action) {
         String sql = "SELECT c.*, i.full_name as instructor_name FROM courses c " +
                      "LEFT JOIN instructors i ON c.instructor_id = i.instructor_id " +
                      "ORDER BY c.course_name";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                courses.add(extractCourseFromResultSet(rs));
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(database.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    action.accept(extractCourseFromResultSet(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Lỗi lấy danh sách khóa học: " + e.getMessage());
         }
-        return courses;
     }
 
     /**
@@ -132,7 +156,8 @@ public class CourseDAO {
         String sql = "SELECT c.*, i.full_name as instructor_name FROM courses c " +
                      "LEFT JOIN instructors i ON c.instructor_id = i.instructor_id " +
                      "WHERE c.instructor_id = ? ORDER BY c.course_name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, instructorId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -152,7 +177,8 @@ public class CourseDAO {
         String sql = "SELECT c.*, i.full_name as instructor_name FROM courses c " +
                      "LEFT JOIN instructors i ON c.instructor_id = i.instructor_id " +
                      "WHERE c.course_name LIKE ? OR c.course_code LIKE ? ORDER BY c.course_name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             String searchPattern = "%" + keyword + "%";
             pstmt.setString(1, searchPattern);
             pstmt.setString(2, searchPattern);
@@ -174,7 +200,8 @@ public class CourseDAO {
         String sql = "SELECT c.*, i.full_name as instructor_name FROM courses c " +
                      "LEFT JOIN instructors i ON c.instructor_id = i.instructor_id " +
                      "WHERE c.status = ? ORDER BY c.course_name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, status);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -0,0 +1,103 @@
+package dao;
+
+import database.DatabaseConnection;
+import model.DashboardData;
+import model.DashboardData.CourseProgress;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object cho Dashboard.
+ * Nạp khóa học, bài tập sắp đến hạn, thông báo mới và tiến độ bằng vài câu
+ * SQL có JOIN thay vì truy vấn từng dòng, tiến độ trung bình tính bằng AVG. Kết quả nằm
+ * trong PanelCache dùng chung với các panel khác, ba bảng của DashboardPanel nạp
+ * cùng lúc chỉ chạy một lần truy vấn.
+ */
+public class DashboardDAO {
+    private static final int RECENT_ANNOUNCEMENTS = 10;
+    // Key cho dashboard toàn hệ thống (admin, giảng viên)
+    private static final int ALL_STUDENTS = -1;
+
+    private final DatabaseConnection database;
+    private final AssignmentDAO assignmentDAO;
+    private final AnnouncementDAO announcementDAO;
+
+    public DashboardDAO() {
+        this.database = DatabaseConnection.getInstance();
+        this.assignmentDAO = new AssignmentDAO();
+        this.announcementDAO = new AnnouncementDAO();
+    }
+
+    /**
+     * Lấy dữ liệu Dashboard, studentId = null để lấy toàn hệ thống
+     */
+    public DashboardData load(Integer studentId) {
+        try {
+            return PanelCache.get(PanelCache.DASHBOARD + (studentId != null ? studentId : ALL_STUDENTS),
+                    () -> query(studentId));
+        } catch (Exception e) {
+            System.err.println("Lỗi tải dữ liệu dashboard: " + e.getMessage());
+            return new DashboardData(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 0);
+        }
+    }
+
+    private DashboardData query(Integer studentId) throws SQLException {
+        return new DashboardData(
+                findCourseProgress(studentId),
+                assignmentDAO.findUpcoming(studentId),
+                announcementDAO.findRecent(studentId, RECENT_ANNOUNCEMENTS),
+                findAverageProgress(studentId));
+    }
+
+    /**
+     * Tỷ lệ phần trăm đăng ký đã hoàn thành, database tự tính thay vì đọc từng dòng
+     */
+    private double findAverageProgress(Integer studentId) throws SQLException {
+        String sql = "SELECT AVG(CASE WHEN completion_status = 'completed' THEN 100.0 ELSE 0 END) " +
+                     "AS avg_progress FROM enrollments" +
+                     (studentId != null ? " WHERE student_id = ?" : "");
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            if (studentId != null) {
+                pstmt.setInt(1, studentId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            // AVG trả về NULL khi chưa có đăng ký nào, getDouble đọc thành 0
+            return rs.next() ? rs.getDouble("avg_progress") : 0;
+        }
+    }
+
+    /**
+     * Lấy khóa học kèm trạng thái đăng ký trong một câu truy vấn
+     */
+    private List<CourseProgress> findCourseProgress(Integer studentId) throws SQLException {
+        List<CourseProgress> courses = new ArrayList<>();
+        String sql = "SELECT c.course_id, c.course_code, c.course_name, i.full_name as instructor_name, " +
+                     "e.completion_status, e.grade FROM enrollments e " +
+                     "JOIN courses c ON e.course_id = c.course_id " +
+                     "LEFT JOIN instructors i ON c.instructor_id = i.instructor_id " +
+                     (studentId != null ? "WHERE e.student_id = ? " : "") +
+                     "ORDER BY c.course_name";
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            if (studentId != null) {
+                pstmt.setInt(1, studentId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                double grade = rs.getDouble("grade");
+                Double gradeOrNull = rs.wasNull() ? null : grade;
+                courses.add(new CourseProgress(
+                        rs.getInt("course_id"),
+                        rs.getString("course_code"),
+                        rs.getString("course_name"),
+                        rs.getString("instructor_name"),
+                        rs.getString("completion_status"),
+                        gradeOrNull));
+            }
+        }
+        return courses;
+    }
+}
@@ -6,15 +6,16 @@ import model.Enrollment;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object cho Enrollment
  */
 public class EnrollmentDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public EnrollmentDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -23,7 +24,8 @@ public class EnrollmentDAO {
     public boolean insert(Enrollment enrollment) {
         String sql = "INSERT INTO enrollments (student_id, course_id, enrollment_date, " +
                      "completion_status, grade, payment_status) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, enrollment.getStudentId());
             pstmt.setInt(2, enrollment.getCourseId());
             pstmt.setDate(3, enrollment.getEnrollmentDate());
@@ -55,7 +57,8 @@ public class EnrollmentDAO {
     public boolean update(Enrollment enrollment) {
         String sql = "UPDATE enrollments SET student_id = ?, course_id = ?, enrollment_date = ?, " +
                      "completion_status = ?, grade = ?, payment_status = ? WHERE enrollment_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, enrollment.getStudentId());
             pstmt.setInt(2, enrollment.getCourseId());
             pstmt.setDate(3, enrollment.getEnrollmentDate());
@@ -80,7 +83,8 @@ public class EnrollmentDAO {
      */
     public boolean delete(int enrollmentId) {
         String sql = "DELETE FROM enrollments WHERE enrollment_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, enrollmentId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -98,7 +102,8 @@ public class EnrollmentDAO {
                      "JOIN students s ON e.student_id = s.student_id " +
                      "JOIN courses c ON e.course_id = c.course_id " +
                      "WHERE e.enrollment_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, enrollmentId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -115,20 +120,31 @@ public class EnrollmentDAO {
      */
     public List<Enrollment> findAll() {
         List<Enrollment> enrollments = new ArrayList<>();
+        forEach(enrollments::add);
+        return enrollments;
+    }
+
+    /**
+     * Duyệt toàn bộ đăng ký trực tiếp trên ResultSet đang mở, không gom thành List.
+     * action ném RuntimeException thì dừng đọc và connection được trả lại pool
+     */
+    public void forEach(Consumer<Enrollment> action) {
         String sql = "SELECT e.*, s.full_name as student_name, c.course_name " +
                      "FROM enrollments e " +
                      "JOIN students s ON e.student_id = s.student_id " +
                      "JOIN courses c ON e.course_id = c.course_id " +
                      "ORDER BY e.enrollment_date DESC";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                enrollments.add(extractEnrollmentFromResultSet(rs));
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(database.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    action.accept(extractEnrollmentFromResultSet(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Lỗi lấy danh sách đăng ký: " + e.getMessage());
         }
-        return enrollments;
     }
 
     /**
@@ -141,7 +157,8 @@ public class EnrollmentDAO {
                      "JOIN students s ON e.student_id = s.student_id " +
                      "JOIN courses c ON e.course_id = c.course_id " +
                      "WHERE e.student_id = ? ORDER BY e.enrollment_date DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -163,7 +180,8 @@ public class EnrollmentDAO {
                      "JOIN students s ON e.student_id = s.student_id " +
                      "JOIN courses c ON e.course_id = c.course_id " +
                      "WHERE e.course_id = ? ORDER BY e.enrollment_date DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, courseId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -180,7 +198,8 @@ public class EnrollmentDAO {
      */
     public boolean isEnrolled(int studentId, int courseId) {
         String sql = "SELECT COUNT(*) as count FROM enrollments WHERE student_id = ? AND course_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, studentId);
             pstmt.setInt(2, courseId);
             ResultSet rs = pstmt.executeQuery();
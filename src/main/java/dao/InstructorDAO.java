@@ -11,10 +11,10 @@ import java.util.List;
  * Data Access Object cho Instructor
  */
 public class InstructorDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public InstructorDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -22,7 +22,8 @@ public class InstructorDAO {
      */
     public boolean insert(Instructor instructor) {
         String sql = "INSERT INTO instructors (full_name, email, phone, specialization, bio) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, instructor.getFullName());
             pstmt.setString(2, instructor.getEmail());
             pstmt.setString(3, instructor.getPhone());
@@ -31,6 +32,9 @@ public class InstructorDAO {
             
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                SearchDAO.invalidate();
+                PanelCache.invalidate(PanelCache.INSTRUCTORS);
+                PanelCache.invalidate(PanelCache.COURSES);
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     instructor.setInstructorId(rs.getInt(1));
@@ -48,7 +52,8 @@ public class InstructorDAO {
      */
     public boolean update(Instructor instructor) {
         String sql = "UPDATE instructors SET full_name = ?, email = ?, phone = ?, specialization = ?, bio = ? WHERE instructor_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, instructor.getFullName());
             pstmt.setString(2, instructor.getEmail());
             pstmt.setString(3, instructor.getPhone());
@@ -56,7 +61,11 @@ public class InstructorDAO {
             pstmt.setString(5, instructor.getBio());
             pstmt.setInt(6, instructor.getInstructorId());
             
-            return pstmt.executeUpdate() > 0;
+            int affectedRows = pstmt.executeUpdate();
+            SearchDAO.invalidate();
+            PanelCache.invalidate(PanelCache.INSTRUCTORS);
+            PanelCache.invalidate(PanelCache.COURSES);
+            return affectedRows > 0;
         } catch (SQLException e) {
             System.err.println("Lỗi cập nhật giảng viên: " + e.getMessage());
         }
@@ -68,9 +77,14 @@ public class InstructorDAO {
      */
     public boolean delete(int instructorId) {
         String sql = "DELETE FROM instructors WHERE instructor_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, instructorId);
-            return pstmt.executeUpdate() > 0;
+            int affectedRows = pstmt.executeUpdate();
+            SearchDAO.invalidate();
+            PanelCache.invalidate(PanelCache.INSTRUCTORS);
+            PanelCache.invalidate(PanelCache.COURSES);
+            return affectedRows > 0;
         } catch (SQLException e) {
             System.err.println("Lỗi xóa giảng viên: " + e.getMessage());
         }
@@ -82,7 +96,8 @@ public class InstructorDAO {
      */
     public Instructor findById(int instructorId) {
         String sql = "SELECT * FROM instructors WHERE instructor_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, instructorId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -100,7 +115,8 @@ public class InstructorDAO {
     public List<Instructor> findAll() {
         List<Instructor> instructors = new ArrayList<>();
         String sql = "SELECT * FROM instructors ORDER BY full_name";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 instructors.add(extractInstructorFromResultSet(rs));
@@ -117,7 +133,8 @@ public class InstructorDAO {
     public List<Instructor> search(String keyword) {
         List<Instructor> instructors = new ArrayList<>();
         String sql = "SELECT * FROM instructors WHERE full_name LIKE ? OR email LIKE ? ORDER BY full_name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             String searchPattern = "%" + keyword + "%";
             pstmt.setString(1, searchPattern);
             pstmt.setString(2, searchPattern);
@@ -0,0 +1,72 @@
+package dao;
+
+import model.Course;
+import model.Instructor;
+import model.Student;
+import util.TtlCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache ngắn hạn dùng chung cho mọi panel: dữ liệu Dashboard và danh sách
+ * khóa học, giảng viên, sinh viên trong combobox của các dialog.
+ * Mở nhiều dialog hoặc chuyển qua lại giữa các panel trong vài giây chỉ
+ * truy vấn một lần; DAO xóa key tương ứng ngay sau khi ghi.
+ */
+public final class PanelCache {
+    private static final long TTL_MS = 15_000;
+
+    static final String COURSES = "courses";
+    static final String INSTRUCTORS = "instructors";
+    static final String STUDENTS = "students";
+    static final String DASHBOARD = "dashboard:";
+
+    private static final TtlCache<String, Object> CACHE = new TtlCache<>(TTL_MS);
+
+    private PanelCache() {
+    }
+
+    public static List<Course> courses() {
+        return list(COURSES, () -> new CourseDAO().findAll());
+    }
+
+    public static List<Instructor> instructors() {
+        return list(INSTRUCTORS, () -> new InstructorDAO().findAll());
+    }
+
+    public static List<Student> students() {
+        return list(STUDENTS, () -> new StudentDAO().findAll());
+    }
+
+    /**
+     * Lấy giá trị theo key, nạp bằng loader nếu chưa có hoặc đã hết hạn
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(String key, Callable<T> loader) throws Exception {
+        return (T) CACHE.get(key, loader::call);
+    }
+
+    static void invalidate(String key) {
+        CACHE.invalidate(key);
+    }
+
+    /**
+     * Bỏ toàn bộ dữ liệu đã cache, dùng khi người dùng bấm "Làm mới"
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    // Danh sách dùng chung giữa các panel nên không cho sửa
+    private static <T> List<T> list(String key, Callable<List<T>> loader) {
+        try {
+            return get(key, () -> Collections.unmodifiableList(loader.call()));
+        } catch (Exception e) {
+            System.err.println("Lỗi tải danh sách " + key + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dao;
+
+import model.Course;
+import model.Instructor;
+import model.Student;
+import com.coursemanagement.common.SearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tìm kiếm khóa học, sinh viên, giảng viên qua chỉ mục trong bộ nhớ
+ * (bỏ dấu tiếng Việt, khớp tiền tố và sai một ký tự) thay cho LIKE '%...%'.
+ * Chỉ mục dùng chung cho mọi panel, được dựng lại khi DAO ghi dữ liệu
+ * hoặc sau một khoảng thời gian (dữ liệu có thể đổi từ máy khác).
+ */
+public class SearchDAO {
+    private static final String TYPE_COURSE = "course";
+    private static final String TYPE_STUDENT = "student";
+    private static final String TYPE_INSTRUCTOR = "instructor";
+
+    private static final long REFRESH_MS = 60_000;
+    private static final int MAX_RESULTS = 500;
+
+    // Chỉ mục và dữ liệu đi kèm được dựng mới hoàn toàn rồi thay bằng một phép gán,
+    // luồng đang tìm kiếm luôn đọc trọn một bản nhất quán
+    private static volatile Snapshot snapshot;
+    private static volatile boolean stale = true;
+
+    /**
+     * Đánh dấu chỉ mục cần dựng lại ở lần tìm kiếm sau
+     */
+    public static void invalidate() {
+        stale = true;
+    }
+
+    public List<Course> searchCourses(String keyword) {
+        Snapshot current = ensureFresh();
+        List<Course> result = new ArrayList<>();
+        for (SearchIndex.Hit hit : current.index.search(keyword, Collections.singleton(TYPE_COURSE), MAX_RESULTS)) {
+            addIfPresent(result, current.courses.get(hit.getId()));
+        }
+        return result;
+    }
+
+    public List<Student> searchStudents(String keyword) {
+        Snapshot current = ensureFresh();
+        List<Student> result = new ArrayList<>();
+        for (SearchIndex.Hit hit : current.index.search(keyword, Collections.singleton(TYPE_STUDENT), MAX_RESULTS)) {
+            addIfPresent(result, current.students.get(hit.getId()));
+        }
+        return result;
+    }
+
+    public List<Instructor> searchInstructors(String keyword) {
+        Snapshot current = ensureFresh();
+        List<Instructor> result = new ArrayList<>();
+        for (SearchIndex.Hit hit : current.index.search(keyword, Collections.singleton(TYPE_INSTRUCTOR), MAX_RESULTS)) {
+            addIfPresent(result, current.instructors.get(hit.getId()));
+        }
+        return result;
+    }
+
+    private static <T> void addIfPresent(List<T> result, T item) {
+        if (item != null) {
+            result.add(item);
+        }
+    }
+
+    private static Snapshot ensureFresh() {
+        Snapshot current = snapshot;
+        if (current != null && !stale && System.currentTimeMillis() - current.builtAt < REFRESH_MS) {
+            return current;
+        }
+        synchronized (SearchDAO.class) {
+            current = snapshot;
+            if (current != null && !stale && System.currentTimeMillis() - current.builtAt < REFRESH_MS) {
+                return current;
+            }
+            // Hạ cờ trước khi đọc để lần ghi xảy ra trong lúc dựng vẫn được ghi nhận
+            stale = false;
+            current = build();
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private static Snapshot build() {
+        long builtAt = System.currentTimeMillis();
+        SearchIndex index = new SearchIndex();
+        Map<Integer, Course> courses = new HashMap<>();
+        Map<Integer, Student> students = new HashMap<>();
+        Map<Integer, Instructor> instructors = new HashMap<>();
+        for (Course course : new CourseDAO().findAll()) {
+            courses.put(course.getCourseId(), course);
+            index.put(TYPE_COURSE, course.getCourseId(), course.getCourseName(), course.getCourseCode(),
+                    course.getCourseName(), course.getCourseCode());
+        }
+        for (Student student : new StudentDAO().findAll()) {
+            students.put(student.getStudentId(), student);
+            index.put(TYPE_STUDENT, student.getStudentId(), student.getFullName(), student.getEmail(),
+                    student.getFullName(), student.getEmail());
+        }
+        for (Instructor instructor : new InstructorDAO().findAll()) {
+            instructors.put(instructor.getInstructorId(), instructor);
+            index.put(TYPE_INSTRUCTOR, instructor.getInstructorId(), instructor.getFullName(),
+                    instructor.getSpecialization(), instructor.getFullName());
+        }
+        return new Snapshot(index, courses, students, instructors, builtAt);
+    }
+
+    private static class Snapshot {
+        private final SearchIndex index;
+        private final Map<Integer, Course> courses;
+        private final Map<Integer, Student> students;
+        private final Map<Integer, Instructor> instructors;
+        private final long builtAt;
+
+        private Snapshot(SearchIndex index, Map<Integer, Course> courses, Map<Integer, Student> students,
+                         Map<Integer, Instructor> instructors, long builtAt) {
+            this.index = index;
+            this.courses = courses;
+            this.students = students;
+            this.instructors = instructors;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -11,10 +11,10 @@ import java.util.List;
  * Data Access Object cho Student
  */
 public class StudentDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public StudentDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -22,7 +22,8 @@ public class StudentDAO {
      */
     public boolean insert(Student student) {
         String sql = "INSERT INTO students (full_name, email, phone, date_of_birth, address) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, student.getFullName());
             pstmt.setString(2, student.getEmail());
             pstmt.setString(3, student.getPhone());
@@ -31,6 +32,8 @@ public class StudentDAO {
             
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                SearchDAO.invalidate();
+                PanelCache.invalidate(PanelCache.STUDENTS);
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     student.setStudentId(rs.getInt(1));
@@ -48,7 +51,8 @@ public class StudentDAO {
      */
     public boolean update(Student student) {
         String sql = "UPDATE students SET full_name = ?, email = ?, phone = ?, date_of_birth = ?, address = ? WHERE student_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, student.getFullName());
             pstmt.setString(2, student.getEmail());
             pstmt.setString(3, student.getPhone());
@@ -56,7 +60,10 @@ public class StudentDAO {
             pstmt.setString(5, student.getAddress());
             pstmt.setInt(6, student.getStudentId());
             
-            return pstmt.executeUpdate() > 0;
+            int affectedRows = pstmt.executeUpdate();
+            SearchDAO.invalidate();
+            PanelCache.invalidate(PanelCache.STUDENTS);
+            return affectedRows > 0;
         } catch (SQLException e) {
             System.err.println("Lỗi cập nhật sinh viên: " + e.getMessage());
         }
@@ -68,9 +75,13 @@ public class StudentDAO {
      */
     public boolean delete(int studentId) {
         String sql = "DELETE FROM students WHERE student_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, studentId);
-            return pstmt.executeUpdate() > 0;
+            int affectedRows = pstmt.executeUpdate();
+            SearchDAO.invalidate();
+            PanelCache.invalidate(PanelCache.STUDENTS);
+            return affectedRows > 0;
         } catch (SQLException e) {
             System.err.println("Lỗi xóa sinh viên: " + e.getMessage());
         }
@@ -82,7 +93,8 @@ public class StudentDAO {
      */
     public Student findById(int studentId) {
         String sql = "SELECT * FROM students WHERE student_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -100,7 +112,8 @@ public class StudentDAO {
     public List<Student> findAll() {
         List<Student> students = new ArrayList<>();
         String sql = "SELECT * FROM students ORDER BY full_name";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 students.add(extractStudentFromResultSet(rs));
@@ -117,7 +130,8 @@ public class StudentDAO {
     public List<Student> search(String keyword) {
         List<Student> students = new ArrayList<>();
         String sql = "SELECT * FROM students WHERE full_name LIKE ? OR email LIKE ? ORDER BY full_name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             String searchPattern = "%" + keyword + "%";
             pstmt.setString(1, searchPattern);
             pstmt.setString(2, searchPattern);
@@ -2,6 +2,7 @@ package dao;
 
 import database.DatabaseConnection;
 import model.Submission;
+import com.coursemanagement.common.CompressedText;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -11,10 +12,10 @@ import java.util.List;
  * Data Access Object cho Submission
  */
 public class SubmissionDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public SubmissionDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -23,7 +24,8 @@ public class SubmissionDAO {
     public boolean insert(Submission submission) {
         String sql = "INSERT INTO submissions (assignment_id, student_id, content, " +
                      "attachment, status, submitted_date) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, submission.getAssignmentId());
             pstmt.setInt(2, submission.getStudentId());
             pstmt.setString(3, submission.getContent());
@@ -50,7 +52,8 @@ public class SubmissionDAO {
      */
     public boolean update(Submission submission) {
         String sql = "UPDATE submissions SET score = ?, status = ? WHERE submission_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             if (submission.getScore() != null) {
                 pstmt.setInt(1, submission.getScore());
             } else {
@@ -71,7 +74,8 @@ public class SubmissionDAO {
      */
     public boolean delete(int submissionId) {
         String sql = "DELETE FROM submissions WHERE submission_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, submissionId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -89,7 +93,8 @@ public class SubmissionDAO {
                      "JOIN students st ON s.student_id = st.student_id " +
                      "JOIN assignments a ON s.assignment_id = a.assignment_id " +
                      "WHERE s.submission_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, submissionId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -111,7 +116,8 @@ public class SubmissionDAO {
                      "JOIN students st ON s.student_id = st.student_id " +
                      "JOIN assignments a ON s.assignment_id = a.assignment_id " +
                      "ORDER BY s.submitted_date DESC";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 submissions.add(extractSubmissionFromResultSet(rs));
@@ -132,7 +138,8 @@ public class SubmissionDAO {
                      "JOIN students st ON s.student_id = st.student_id " +
                      "JOIN assignments a ON s.assignment_id = a.assignment_id " +
                      "WHERE s.student_id = ? ORDER BY s.submitted_date DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -154,7 +161,8 @@ public class SubmissionDAO {
                      "JOIN students st ON s.student_id = st.student_id " +
                      "JOIN assignments a ON s.assignment_id = a.assignment_id " +
                      "WHERE s.assignment_id = ? ORDER BY s.submitted_date DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, assignmentId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -176,7 +184,8 @@ public class SubmissionDAO {
         submission.setStudentId(rs.getInt("student_id"));
         submission.setStudentName(rs.getString("student_name"));
         submission.setAssignmentTitle(rs.getString("assignment_title"));
-        submission.setContent(rs.getString("content"));
+        // Backend có thể lưu nội dung dài dạng nén
+        submission.setContent(CompressedText.decode(rs.getString("content")));
         submission.setAttachment(rs.getString("attachment"));
         
         int score = rs.getInt("score");
@@ -12,10 +12,10 @@ import java.util.List;
  * Data Access Object cho User (Authentication)
  */
 public class UserDAO {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public UserDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     /**
@@ -33,7 +33,8 @@ public class UserDAO {
                      "LEFT JOIN students s ON u.role = 'student' AND u.reference_id = s.student_id " +
                      "WHERE u.username = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
             
@@ -44,6 +45,11 @@ public class UserDAO {
                 if (PasswordHasher.verifyPassword(password, hashedPassword)) {
                     User user = extractUserFromResultSet(rs);
                     
+                    // Băm lại mật khẩu MD5 cũ bằng PBKDF2
+                    if (PasswordHasher.needsRehash(hashedPassword)) {
+                        changePassword(user.getUserId(), password);
+                    }
+                    
                     // Cập nhật last_login
                     updateLastLogin(user.getUserId());
                     
@@ -79,7 +85,8 @@ public class UserDAO {
         String hashedPassword = PasswordHasher.hashPassword(user.getPassword());
         
         String sql = "INSERT INTO users (username, password, email, role, reference_id) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, user.getUsername());
             pstmt.setString(2, hashedPassword);
             pstmt.setString(3, user.getEmail());
@@ -105,7 +112,8 @@ public class UserDAO {
      */
     public boolean usernameExists(String username) {
         String sql = "SELECT COUNT(*) as count FROM users WHERE username = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -122,7 +130,8 @@ public class UserDAO {
      */
     public boolean emailExists(String email) {
         String sql = "SELECT COUNT(*) as count FROM users WHERE email = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, email);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -139,7 +148,8 @@ public class UserDAO {
      */
     private void updateLastLogin(int userId) {
         String sql = "UPDATE users SET last_login = CURRENT_TIMESTAMP WHERE user_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, userId);
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -162,7 +172,8 @@ public class UserDAO {
                      "LEFT JOIN instructors i ON u.role = 'instructor' AND u.reference_id = i.instructor_id " +
                      "LEFT JOIN students s ON u.role = 'student' AND u.reference_id = s.student_id " +
                      "WHERE u.user_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -190,7 +201,8 @@ public class UserDAO {
                      "LEFT JOIN instructors i ON u.role = 'instructor' AND u.reference_id = i.instructor_id " +
                      "LEFT JOIN students s ON u.role = 'student' AND u.reference_id = s.student_id " +
                      "ORDER BY u.created_at DESC";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 users.add(extractUserFromResultSet(rs));
@@ -206,7 +218,8 @@ public class UserDAO {
      */
     public boolean update(User user) {
         String sql = "UPDATE users SET email = ?, role = ?, reference_id = ? WHERE user_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, user.getEmail());
             pstmt.setString(2, user.getRole());
             pstmt.setInt(3, user.getReferenceId());
@@ -225,7 +238,8 @@ public class UserDAO {
     public boolean changePassword(int userId, String newPassword) {
         String hashedPassword = PasswordHasher.hashPassword(newPassword);
         String sql = "UPDATE users SET password = ? WHERE user_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, hashedPassword);
             pstmt.setInt(2, userId);
             
@@ -241,7 +255,8 @@ public class UserDAO {
      */
     public boolean delete(int userId) {
         String sql = "DELETE FROM users WHERE user_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getWriteConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, userId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -0,0 +1,262 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool kết nối JDBC gọn nhẹ cho ứng dụng desktop.
+ * Mỗi thao tác mượn một connection và trả lại khi close(), connection
+ * được kiểm tra trước khi cho mượn, bị thay mới khi quá tuổi thọ tối đa
+ * và bị cảnh báo nếu giữ quá lâu mà không trả (rò rỉ).
+ */
+public class ConnectionPool {
+
+    /**
+     * Tạo connection vật lý mới cho pool
+     */
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    // Connection nghỉ ngắn hơn khoảng này thì bỏ qua bước kiểm tra khi mượn
+    private static final long VALIDATION_SKIP_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String name;
+    private final ConnectionFactory factory;
+    private final long maxLifetimeMs;
+    private final long leakDetectionMs;
+    private final long connectionTimeoutMs;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, ConnectionFactory factory, int maxSize,
+                          long maxLifetimeMs, long leakDetectionMs, long connectionTimeoutMs) {
+        this.name = name;
+        this.factory = factory;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.leakDetectionMs = leakDetectionMs;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.permits = new Semaphore(Math.max(1, maxSize), true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = leakDetectionMs > 0 ? Math.max(1000, leakDetectionMs / 2) : 30_000;
+        housekeeper.scheduleAtFixedRate(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Mượn một connection, gọi close() trên connection trả về để trả lại pool
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool kết nối " + name + " đã đóng");
+        }
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Hết thời gian chờ kết nối từ pool " + name
+                        + " (" + borrowed.size() + " connection đang được sử dụng)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Bị gián đoạn khi chờ kết nối từ pool " + name);
+        }
+
+        try {
+            PooledEntry entry = takeValidEntry();
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowTrace = leakDetectionMs > 0 ? new Exception("Connection được mượn tại đây") : null;
+            entry.leakReported = false;
+            borrowed.add(entry);
+            return entry.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Đóng toàn bộ connection và dừng pool
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            entry.closePhysical();
+        }
+        for (PooledEntry inUse : borrowed) {
+            inUse.closePhysical();
+        }
+        borrowed.clear();
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    private PooledEntry takeValidEntry() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (entry.isExpired()) {
+                entry.closePhysical();
+                continue;
+            }
+            if (System.currentTimeMillis() - entry.returnedAt < VALIDATION_SKIP_MS || isValid(entry)) {
+                return entry;
+            }
+            entry.closePhysical();
+        }
+        return new PooledEntry(factory.create());
+    }
+
+    private boolean isValid(PooledEntry entry) {
+        try {
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void giveBack(PooledEntry entry) {
+        borrowed.remove(entry);
+        entry.borrowTrace = null;
+        try {
+            if (closed || entry.isExpired() || entry.physical.isClosed()) {
+                entry.closePhysical();
+                return;
+            }
+            // Không để transaction dở dang hay autoCommit=false lọt sang lần mượn sau
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.returnedAt = System.currentTimeMillis();
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            entry.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        if (leakDetectionMs > 0) {
+            for (PooledEntry entry : borrowed) {
+                if (!entry.leakReported && now - entry.borrowedAt > leakDetectionMs) {
+                    entry.leakReported = true;
+                    System.err.println("Cảnh báo: connection của pool " + name + " bị giữ quá "
+                            + leakDetectionMs + "ms mà chưa trả lại, có thể bị rò rỉ");
+                    Exception trace = entry.borrowTrace;
+                    if (trace != null) {
+                        trace.printStackTrace();
+                    }
+                }
+            }
+        }
+        // Dọn connection nghỉ đã quá tuổi thọ để lần mượn sau không phải chờ đóng
+        idle.removeIf(entry -> {
+            if (entry.isExpired()) {
+                entry.closePhysical();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private class PooledEntry {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile long returnedAt;
+        private volatile Exception borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        private boolean isExpired() {
+            return maxLifetimeMs > 0 && System.currentTimeMillis() - createdAt > maxLifetimeMs;
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Connection hỏng thì bỏ đi
+            }
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(this));
+        }
+    }
+
+    /**
+     * Connection logic cho người mượn: close() trả lại pool, các lời gọi khác
+     * chuyển thẳng xuống connection vật lý
+     */
+    private class Handle implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean released;
+
+        private Handle(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        giveBack(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return name + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection đã được trả lại pool " + name);
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
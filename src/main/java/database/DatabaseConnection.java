@@ -10,11 +10,16 @@ import java.sql.Statement;
 import java.util.Properties;
 
 /**
- * Class quản lý kết nối database
+ * Class quản lý kết nối database.
+ * Kết nối được cấp từ pool, mỗi thao tác mượn một connection và đóng
+ * (trả lại pool) khi xong. Với SQLite, database chạy ở chế độ WAL để
+ * nhiều connection đọc song song, còn các thao tác ghi dùng một
+ * connection ghi riêng vì SQLite chỉ cho phép một writer tại một thời điểm.
  */
 public class DatabaseConnection {
     private static DatabaseConnection instance;
-    private Connection connection;
+    private ConnectionPool readPool;
+    private ConnectionPool writePool;
     private String dbType;
     private Properties properties;
 
@@ -59,14 +64,29 @@ public class DatabaseConnection {
     }
 
     /**
-     * Kết nối đến database
+     * Tạo pool kết nối đến database
      */
     private void connect() {
-        try {
-            if ("sqlite".equalsIgnoreCase(dbType)) {
-                connectSQLite();
-            } else if ("mysql".equalsIgnoreCase(dbType)) {
-                connectMySQL();
+        long maxLifetimeMs = Long.parseLong(properties.getProperty("db.pool.maxLifetimeMs", "1800000"));
+        long leakDetectionMs = Long.parseLong(properties.getProperty("db.pool.leakDetectionMs", "10000"));
+        long connectionTimeoutMs = Long.parseLong(properties.getProperty("db.pool.connectionTimeoutMs", "30000"));
+        if ("sqlite".equalsIgnoreCase(dbType)) {
+            String url = "jdbc:sqlite:" + properties.getProperty("db.sqlite.path", "course_management.db");
+            int readers = Integer.parseInt(properties.getProperty("db.pool.maxSize", "4"));
+            writePool = new ConnectionPool("sqlite-writer", () -> connectSQLite(url, true), 1,
+                    maxLifetimeMs, leakDetectionMs, connectionTimeoutMs);
+            readPool = new ConnectionPool("sqlite-reader", () -> connectSQLite(url, false), readers,
+                    maxLifetimeMs, leakDetectionMs, connectionTimeoutMs);
+        } else if ("mysql".equalsIgnoreCase(dbType)) {
+            int maxSize = Integer.parseInt(properties.getProperty("db.pool.maxSize", "10"));
+            readPool = new ConnectionPool("mysql", this::connectMySQL, maxSize,
+                    maxLifetimeMs, leakDetectionMs, connectionTimeoutMs);
+            writePool = readPool;
+        }
+        // Mượn thử một connection để báo lỗi cấu hình ngay khi khởi động
+        try (Connection conn = getWriteConnection()) {
+            if (!conn.isValid(5)) {
+                throw new SQLException("Connection không hợp lệ");
             }
             System.out.println("Kết nối database thành công!");
         } catch (SQLException e) {
@@ -78,20 +98,29 @@ public class DatabaseConnection {
     /**
      * Kết nối SQLite
      */
-    private void connectSQLite() throws SQLException {
-        String dbPath = properties.getProperty("db.sqlite.path", "course_management.db");
-        String url = "jdbc:sqlite:" + dbPath;
-        connection = DriverManager.getConnection(url);
-        // Bật foreign key cho SQLite
-        Statement stmt = connection.createStatement();
-        stmt.execute("PRAGMA foreign_keys = ON");
-        stmt.close();
+    private Connection connectSQLite(String url, boolean writer) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            // Bật foreign key cho SQLite
+            stmt.execute("PRAGMA foreign_keys = ON");
+            // Chờ thay vì báo SQLITE_BUSY ngay khi connection khác đang ghi
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            if (writer) {
+                // WAL được lưu trong file database, chỉ cần bật từ connection ghi
+                stmt.execute("PRAGMA journal_mode = WAL");
+                stmt.execute("PRAGMA synchronous = NORMAL");
+            }
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
     }
 
     /**
      * Kết nối MySQL
      */
-    private void connectMySQL() throws SQLException {
+    private Connection connectMySQL() throws SQLException {
         String host = properties.getProperty("db.mysql.host", "localhost");
         String port = properties.getProperty("db.mysql.port", "3306");
         String database = properties.getProperty("db.mysql.database", "course_management");
@@ -102,7 +131,7 @@ public class DatabaseConnection {
 
         String url = String.format("jdbc:mysql://%s:%s/%s?useSSL=%s&serverTimezone=%s",
                 host, port, database, useSSL, serverTimezone);
-        connection = DriverManager.getConnection(url, username, password);
+        return DriverManager.getConnection(url, username, password);
     }
 
     /**
@@ -110,7 +139,7 @@ public class DatabaseConnection {
      */
     private void initializeDatabase() {
         if ("sqlite".equalsIgnoreCase(dbType)) {
-            try {
+            try (Connection connection = getWriteConnection()) {
                 DatabaseInitializer.initializeSQLite(connection);
                 System.out.println("Database đã được khởi tạo!");
             } catch (SQLException e) {
@@ -120,31 +149,45 @@ public class DatabaseConnection {
     }
 
     /**
-     * Lấy connection
+     * Mượn connection để đọc, phải đóng sau khi dùng để trả lại pool
      */
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connect();
-            }
-        } catch (SQLException e) {
-            System.err.println("Lỗi kiểm tra connection: " + e.getMessage());
+    public Connection getConnection() throws SQLException {
+        if (readPool == null) {
+            throw new SQLException("Loại database không được hỗ trợ: " + dbType);
         }
-        return connection;
+        return readPool.borrow();
     }
 
     /**
-     * Đóng connection
+     * Mượn connection để ghi (INSERT/UPDATE/DELETE), phải đóng sau khi dùng.
+     * Với SQLite đây là connection ghi duy nhất nên cần giữ càng ngắn càng tốt
+     */
+    public Connection getWriteConnection() throws SQLException {
+        if (writePool == null) {
+            throw new SQLException("Loại database không được hỗ trợ: " + dbType);
+        }
+        return writePool.borrow();
+    }
+
+    /**
+     * Đóng toàn bộ connection trong pool
      */
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Đã đóng kết nối database");
-            }
-        } catch (SQLException e) {
-            System.err.println("Lỗi đóng connection: " + e.getMessage());
+        if (readPool != null) {
+            readPool.close();
+        }
+        if (writePool != null && writePool != readPool) {
+            writePool.close();
         }
+        System.out.println("Đã đóng kết nối database");
+    }
+
+    /**
+     * Fetch size để đọc kết quả từng dòng thay vì tải hết vào bộ nhớ
+     * (MySQL chỉ stream khi fetch size là Integer.MIN_VALUE, SQLite luôn đọc theo cursor)
+     */
+    public int getStreamingFetchSize() {
+        return "mysql".equalsIgnoreCase(dbType) ? Integer.MIN_VALUE : 0;
     }
 
     /**
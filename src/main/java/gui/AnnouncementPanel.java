@@ -3,6 +3,7 @@ package gui;
 import dao.AnnouncementDAO;
 import dao.CourseDAO;
 import dao.InstructorDAO;
+import dao.PanelCache;
 import model.Announcement;
 import model.Course;
 import model.Instructor;
@@ -204,13 +205,9 @@ class AnnouncementDialog extends JDialog {
     private JTextArea contentArea;
     private JComboBox<String> priorityCombo;
     private boolean confirmed = false;
-    private CourseDAO courseDAO;
-    private InstructorDAO instructorDAO;
 
     public AnnouncementDialog(Frame parent, String title, Announcement announcement) {
         super(parent, title, true);
-        courseDAO = new CourseDAO();
-        instructorDAO = new InstructorDAO();
         
         setSize(600, 500);
         setLocationRelativeTo(parent);
@@ -285,14 +282,14 @@ class AnnouncementDialog extends JDialog {
     }
 
     private void loadCourses() {
-        List<Course> courses = courseDAO.findAll();
+        List<Course> courses = PanelCache.courses();
         for (Course course : courses) {
             courseCombo.addItem(course);
         }
     }
 
     private void loadInstructors() {
-        List<Instructor> instructors = instructorDAO.findAll();
+        List<Instructor> instructors = PanelCache.instructors();
         for (Instructor instructor : instructors) {
             instructorCombo.addItem(instructor);
         }
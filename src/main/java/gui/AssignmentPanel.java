@@ -2,6 +2,7 @@ package gui;
 
 import dao.AssignmentDAO;
 import dao.CourseDAO;
+import dao.PanelCache;
 import dao.SubmissionDAO;
 import model.Assignment;
 import model.Course;
@@ -20,6 +21,8 @@ import java.util.List;
 public class AssignmentPanel extends JPanel {
     private JTable assignmentTable;
     private DefaultTableModel tableModel;
+    private JProgressBar progressBar;
+    private AsyncTableLoader loader;
     private AssignmentDAO assignmentDAO;
     private CourseDAO courseDAO;
     private SubmissionDAO submissionDAO;
@@ -55,6 +58,8 @@ public class AssignmentPanel extends JPanel {
         topPanel.add(deleteButton);
         topPanel.add(viewSubmissionsButton);
         topPanel.add(refreshButton);
+        progressBar = AsyncTableLoader.createProgressBar();
+        topPanel.add(progressBar, 0);
         
         add(topPanel, BorderLayout.NORTH);
 
@@ -72,25 +77,21 @@ public class AssignmentPanel extends JPanel {
         
         JScrollPane scrollPane = new JScrollPane(assignmentTable);
         add(scrollPane, BorderLayout.CENTER);
+
+        loader = new AsyncTableLoader(tableModel, progressBar);
     }
 
     private void loadAssignments() {
-        tableModel.setRowCount(0);
-        List<Assignment> assignments = assignmentDAO.findAll();
         SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        
-        for (Assignment assignment : assignments) {
-            Object[] row = {
-                assignment.getAssignmentId(),
-                assignment.getCourseName(),
-                assignment.getTitle(),
-                assignment.getDueDate() != null ? sdf.format(assignment.getDueDate()) : "Không có",
-                assignment.getMaxScore(),
-                assignment.getAssignmentType(),
-                assignment.getStatus()
-            };
-            tableModel.addRow(row);
-        }
+        loader.stream(assignmentDAO::forEach, assignment -> new Object[] {
+            assignment.getAssignmentId(),
+            assignment.getCourseName(),
+            assignment.getTitle(),
+            assignment.getDueDate() != null ? sdf.format(assignment.getDueDate()) : "Không có",
+            assignment.getMaxScore(),
+            assignment.getAssignmentType(),
+            assignment.getStatus()
+        });
     }
 
     private void addAssignment() {
@@ -188,11 +189,9 @@ class AssignmentDialog extends JDialog {
     private JTextField dueDateField;
     private JComboBox<String> typeCombo, statusCombo;
     private boolean confirmed = false;
-    private CourseDAO courseDAO;
 
     public AssignmentDialog(Frame parent, String title, Assignment assignment) {
         super(parent, title, true);
-        courseDAO = new CourseDAO();
         
         setSize(600, 500);
         setLocationRelativeTo(parent);
@@ -281,7 +280,7 @@ class AssignmentDialog extends JDialog {
     }
 
     private void loadCourses() {
-        List<Course> courses = courseDAO.findAll();
+        List<Course> courses = PanelCache.courses();
         for (Course course : courses) {
             courseCombo.addItem(course);
         }
@@ -0,0 +1,177 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Nạp dữ liệu cho bảng ở nền (ngoài Event Dispatch Thread).
+ * Truy vấn DAO chạy trong SwingWorker, các dòng được đẩy vào table model
+ * theo từng đợt qua publish/process. Với stream(), DAO đẩy từng bản ghi ngay
+ * khi đọc từ ResultSet nên bảng hiện dần và không phải giữ cả danh sách. Mỗi lần gọi load() sẽ hủy lần nạp
+ * cũ còn đang chạy nên bấm "Làm mới" liên tục không làm dữ liệu bị lẫn.
+ */
+public class AsyncTableLoader {
+    private final DefaultTableModel model;
+    private final JProgressBar progressBar;
+    private Worker<?> current;
+
+    public AsyncTableLoader(DefaultTableModel model, JProgressBar progressBar) {
+        this.model = model;
+        this.progressBar = progressBar;
+    }
+
+    /**
+     * Tạo thanh tiến độ dùng chung cho các panel, ẩn khi không nạp dữ liệu
+     */
+    public static JProgressBar createProgressBar() {
+        JProgressBar bar = new JProgressBar(0, 100);
+        bar.setStringPainted(true);
+        bar.setVisible(false);
+        return bar;
+    }
+
+    public <T> void load(Callable<List<T>> query, Function<T, Object[]> rowMapper) {
+        load(query, rowMapper, null);
+    }
+
+    /**
+     * Xóa bảng và nạp lại dữ liệu. rowMapper chạy ở nền và có thể trả về
+     * null để bỏ qua dòng; onDone nhận số dòng đã nạp và chạy trên EDT khi nạp
+     * xong (không gọi nếu bị hủy). Đợt dòng cuối có thể tới bảng sau onDone nên
+     * không nên đếm dòng trong table model ở đây
+     */
+    public <T> void load(Callable<List<T>> query, Function<T, Object[]> rowMapper, IntConsumer onDone) {
+        stream(action -> query.call().forEach(action), rowMapper, onDone);
+    }
+
+    public <T> void stream(RowSource<T> source, Function<T, Object[]> rowMapper) {
+        stream(source, rowMapper, null);
+    }
+
+    /**
+     * Như load() nhưng nguồn dữ liệu đẩy từng bản ghi (ví dụ CourseDAO::forEach)
+     */
+    public <T> void stream(RowSource<T> source, Function<T, Object[]> rowMapper, IntConsumer onDone) {
+        cancel();
+        model.setRowCount(0);
+        current = new Worker<>(source, rowMapper, onDone);
+        if (progressBar != null) {
+            progressBar.setIndeterminate(true);
+            progressBar.setString("Đang tải...");
+            progressBar.setVisible(true);
+        }
+        current.execute();
+    }
+
+    /**
+     * Hủy lần nạp đang chạy (nếu có)
+     */
+    public void cancel() {
+        if (current != null && !current.isDone()) {
+            // Không ngắt luồng để tránh driver JDBC đóng connection giữa chừng
+            current.cancel(false);
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null && !current.isDone();
+    }
+
+    /**
+     * Nguồn dữ liệu đẩy từng bản ghi cho action, thường là phương thức forEach của DAO
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<T> action) throws Exception;
+    }
+
+    private class Worker<T> extends SwingWorker<Integer, Object[]> {
+        private final RowSource<T> source;
+        private final Function<T, Object[]> rowMapper;
+        private final IntConsumer onDone;
+
+        private Worker(RowSource<T> source, Function<T, Object[]> rowMapper, IntConsumer onDone) {
+            this.source = source;
+            this.rowMapper = rowMapper;
+            this.onDone = onDone;
+        }
+
+        @Override
+        protected Integer doInBackground() throws Exception {
+            int[] loaded = {0};
+            try {
+                source.forEach(item -> {
+                    // Ném ra để DAO dừng đọc ResultSet và trả connection ngay
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    Object[] row = rowMapper.apply(item);
+                    if (row != null) {
+                        publish(row);
+                        loaded[0]++;
+                    }
+                });
+            } catch (CancellationException e) {
+                // Bị hủy giữa chừng, kết quả bị bỏ qua trong done()
+            }
+            return loaded[0];
+        }
+
+        @Override
+        protected void process(List<Object[]> rows) {
+            // Các đợt đã xếp hàng trước khi hủy không được ghi vào bảng mới
+            if (isCancelled() || current != this) {
+                return;
+            }
+            int first = model.getRowCount();
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            Vector<Vector> data = model.getDataVector();
+            for (Object[] row : rows) {
+                Vector<Object> rowVector = new Vector<>(row.length);
+                for (Object value : row) {
+                    rowVector.add(value);
+                }
+                data.add(rowVector);
+            }
+            model.fireTableRowsInserted(first, model.getRowCount() - 1);
+            if (progressBar != null) {
+                // Không biết trước tổng số dòng khi đọc theo luồng, chỉ hiện số đã tải
+                progressBar.setString("Đã tải " + model.getRowCount() + " dòng");
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || current != this) {
+                return;
+            }
+            if (progressBar != null) {
+                progressBar.setVisible(false);
+            }
+            int loaded;
+            try {
+                loaded = get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                System.err.println("Lỗi tải dữ liệu: " + e.getCause().getMessage());
+                JOptionPane.showMessageDialog(progressBar != null ? progressBar : null,
+                        "Lỗi tải dữ liệu: " + e.getCause().getMessage(),
+                        "Lỗi", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (onDone != null) {
+                onDone.accept(loaded);
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package gui;
 
 import dao.CourseDAO;
 import dao.InstructorDAO;
+import dao.PanelCache;
+import dao.SearchDAO;
 import model.Course;
 import model.Instructor;
 
@@ -18,11 +20,15 @@ public class CoursePanel extends JPanel {
     private DefaultTableModel tableModel;
     private CourseDAO courseDAO;
     private InstructorDAO instructorDAO;
+    private SearchDAO searchDAO;
     private JTextField searchField;
+    private JProgressBar progressBar;
+    private AsyncTableLoader loader;
 
     public CoursePanel() {
         courseDAO = new CourseDAO();
         instructorDAO = new InstructorDAO();
+        searchDAO = new SearchDAO();
         
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -46,6 +52,8 @@ public class CoursePanel extends JPanel {
         JButton refreshButton = new JButton("🔄 Làm mới");
         refreshButton.addActionListener(e -> loadCourses());
         searchPanel.add(refreshButton);
+        progressBar = AsyncTableLoader.createProgressBar();
+        searchPanel.add(progressBar);
         
         topPanel.add(searchPanel, BorderLayout.WEST);
 
@@ -81,24 +89,12 @@ public class CoursePanel extends JPanel {
         
         JScrollPane scrollPane = new JScrollPane(courseTable);
         add(scrollPane, BorderLayout.CENTER);
+
+        loader = new AsyncTableLoader(tableModel, progressBar);
     }
 
     private void loadCourses() {
-        tableModel.setRowCount(0);
-        List<Course> courses = courseDAO.findAll();
-        for (Course course : courses) {
-            Object[] row = {
-                course.getCourseId(),
-                course.getCourseCode(),
-                course.getCourseName(),
-                course.getInstructorName(),
-                course.getDurationWeeks(),
-                String.format("%,.0f", course.getPrice()),
-                course.getMaxStudents(),
-                course.getStatus()
-            };
-            tableModel.addRow(row);
-        }
+        loader.stream(courseDAO::forEach, this::toRow);
     }
 
     private void searchCourses() {
@@ -108,21 +104,20 @@ public class CoursePanel extends JPanel {
             return;
         }
         
-        tableModel.setRowCount(0);
-        List<Course> courses = courseDAO.search(keyword);
-        for (Course course : courses) {
-            Object[] row = {
-                course.getCourseId(),
-                course.getCourseCode(),
-                course.getCourseName(),
-                course.getInstructorName(),
-                course.getDurationWeeks(),
-                String.format("%,.0f", course.getPrice()),
-                course.getMaxStudents(),
-                course.getStatus()
-            };
-            tableModel.addRow(row);
-        }
+        loader.load(() -> searchDAO.searchCourses(keyword), this::toRow);
+    }
+
+    private Object[] toRow(Course course) {
+        return new Object[] {
+            course.getCourseId(),
+            course.getCourseCode(),
+            course.getCourseName(),
+            course.getInstructorName(),
+            course.getDurationWeeks(),
+            String.format("%,.0f", course.getPrice()),
+            course.getMaxStudents(),
+            course.getStatus()
+        };
     }
 
     private void addCourse() {
@@ -202,11 +197,9 @@ class CourseDialog extends JDialog {
     private JComboBox<Instructor> instructorCombo;
     private JComboBox<String> statusCombo;
     private boolean confirmed = false;
-    private InstructorDAO instructorDAO;
 
     public CourseDialog(Frame parent, String title, Course course) {
         super(parent, title, true);
-        instructorDAO = new InstructorDAO();
         
         setSize(500, 600);
         setLocationRelativeTo(parent);
@@ -302,7 +295,7 @@ class CourseDialog extends JDialog {
     }
 
     private void loadInstructors() {
-        List<Instructor> instructors = instructorDAO.findAll();
+        List<Instructor> instructors = PanelCache.instructors();
         for (Instructor instructor : instructors) {
             instructorCombo.addItem(instructor);
         }
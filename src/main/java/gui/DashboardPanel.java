@@ -7,7 +7,6 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.text.SimpleDateFormat;
-import java.util.List;
 
 /**
  * Panel Dashboard - Tổng quan hệ thống (giống Canvas LMS)
@@ -16,17 +15,15 @@ public class DashboardPanel extends JPanel {
     private JPanel statsPanel;
     private JTable coursesTable, assignmentsTable, announcementsTable;
     private DefaultTableModel coursesModel, assignmentsModel, announcementsModel;
-    
-    private CourseDAO courseDAO;
-    private AssignmentDAO assignmentDAO;
-    private AnnouncementDAO announcementDAO;
-    private EnrollmentDAO enrollmentDAO;
+    private AsyncTableLoader coursesLoader, assignmentsLoader, announcementsLoader;
+    private JProgressBar progressBar;
+    private DashboardDAO dashboardDAO;
+    // Sinh viên đang đăng nhập, null nếu là admin/giảng viên (xem toàn hệ thống)
+    private Integer studentId;
 
-    public DashboardPanel() {
-        courseDAO = new CourseDAO();
-        assignmentDAO = new AssignmentDAO();
-        announcementDAO = new AnnouncementDAO();
-        enrollmentDAO = new EnrollmentDAO();
+    public DashboardPanel(User user) {
+        dashboardDAO = new DashboardDAO();
+        studentId = user != null && user.isStudent() ? user.getReferenceId() : null;
         
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -60,9 +57,18 @@ public class DashboardPanel extends JPanel {
         // Nút refresh
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         JButton refreshButton = new JButton("🔄 Làm mới");
-        refreshButton.addActionListener(e -> loadData());
+        refreshButton.addActionListener(e -> {
+            PanelCache.invalidateAll();
+            loadData();
+        });
+        progressBar = AsyncTableLoader.createProgressBar();
+        bottomPanel.add(progressBar);
         bottomPanel.add(refreshButton);
         add(bottomPanel, BorderLayout.SOUTH);
+
+        coursesLoader = new AsyncTableLoader(coursesModel, progressBar);
+        assignmentsLoader = new AsyncTableLoader(assignmentsModel, null);
+        announcementsLoader = new AsyncTableLoader(announcementsModel, null);
     }
 
     private void createStatsPanel() {
@@ -156,65 +162,48 @@ public class DashboardPanel extends JPanel {
         loadCourses();
         loadAssignments();
         loadAnnouncements();
-        updateStats();
     }
 
     private void loadCourses() {
-        coursesModel.setRowCount(0);
-        
-        // Lấy tất cả đăng ký (trong thực tế, lọc theo user đang đăng nhập)
-        List<Enrollment> enrollments = enrollmentDAO.findAll();
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        
-        for (Enrollment enrollment : enrollments) {
-            Course course = courseDAO.findById(enrollment.getCourseId());
-            if (course != null) {
-                Object[] row = {
-                    course.getCourseId(),
-                    course.getCourseCode(),
-                    course.getCourseName(),
-                    course.getInstructorName(),
-                    enrollment.getCompletionStatus(),
-                    enrollment.getGrade() != null ? String.format("%.2f", enrollment.getGrade()) : "Chưa có"
-                };
-                coursesModel.addRow(row);
-            }
-        }
+        // Ba bảng cùng gọi load(), cache chỉ cho một lần truy vấn chạy thật.
+        // Tiến độ trung bình thuộc riêng lần nạp này; onDone chạy sau get() của worker nên đọc được an toàn trên EDT
+        double[] avgProgress = new double[1];
+        coursesLoader.load(() -> {
+            DashboardData data = dashboardDAO.load(studentId);
+            avgProgress[0] = data.getAverageProgress();
+            return data.getCourses();
+        }, course -> new Object[] {
+            course.getCourseId(),
+            course.getCourseCode(),
+            course.getCourseName(),
+            course.getInstructorName(),
+            course.getCompletionStatus(),
+            course.getGrade() != null ? String.format("%.2f", course.getGrade()) : "Chưa có"
+        }, count -> {
+            updateStatValue(statsPanel, 0, String.valueOf(count));
+            updateStatValue(statsPanel, 3, String.format("%.0f%%", avgProgress[0]));
+        });
     }
 
     private void loadAssignments() {
-        assignmentsModel.setRowCount(0);
-        
-        // Lấy bài tập sắp đến hạn (7 ngày tới)
-        List<Assignment> assignments = assignmentDAO.findAll();
+        // Lấy bài tập sắp đến hạn
         SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        
-        for (Assignment assignment : assignments) {
-            if (assignment.getDueDate() != null) {
-                Object[] row = {
-                    assignment.getAssignmentId(),
-                    assignment.getCourseName(),
-                    assignment.getTitle(),
-                    sdf.format(assignment.getDueDate()),
-                    assignment.getMaxScore(),
-                    assignment.getStatus()
-                };
-                assignmentsModel.addRow(row);
-            }
-        }
+        assignmentsLoader.load(() -> dashboardDAO.load(studentId).getUpcomingAssignments(),
+            assignment -> new Object[] {
+                assignment.getAssignmentId(),
+                assignment.getCourseName(),
+                assignment.getTitle(),
+                sdf.format(assignment.getDueDate()),
+                assignment.getMaxScore(),
+                assignment.getStatus()
+            }, count -> updateStatValue(statsPanel, 1, String.valueOf(count)));
     }
 
     private void loadAnnouncements() {
-        announcementsModel.setRowCount(0);
-        
-        List<Announcement> announcements = announcementDAO.findAll();
         SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
         
         // Chỉ lấy 10 thông báo mới nhất
-        int count = 0;
-        for (Announcement announcement : announcements) {
-            if (count >= 10) break;
-            
+        announcementsLoader.load(() -> dashboardDAO.load(studentId).getRecentAnnouncements(), announcement -> {
             String priorityText = "";
             switch (announcement.getPriority()) {
                 case "urgent": priorityText = "🔴 Khẩn cấp"; break;
@@ -222,7 +211,7 @@ public class DashboardPanel extends JPanel {
                 default: priorityText = "⚪ Bình thường"; break;
             }
             
-            Object[] row = {
+            return new Object[] {
                 announcement.getAnnouncementId(),
                 announcement.getCourseName(),
                 announcement.getTitle(),
@@ -230,34 +219,7 @@ public class DashboardPanel extends JPanel {
                 priorityText,
                 sdf.format(announcement.getCreatedAt())
             };
-            announcementsModel.addRow(row);
-            count++;
-        }
-    }
-
-    private void updateStats() {
-        // Cập nhật thống kê
-        int enrolledCourses = coursesModel.getRowCount();
-        int pendingAssignments = assignmentsModel.getRowCount();
-        int newAnnouncements = announcementsModel.getRowCount();
-        
-        // Tính tiến độ trung bình
-        double totalProgress = 0;
-        int completedCount = 0;
-        List<Enrollment> enrollments = enrollmentDAO.findAll();
-        for (Enrollment e : enrollments) {
-            if ("completed".equals(e.getCompletionStatus())) {
-                completedCount++;
-            }
-        }
-        int totalEnrollments = enrollments.size();
-        double avgProgress = totalEnrollments > 0 ? (completedCount * 100.0 / totalEnrollments) : 0;
-        
-        // Cập nhật labels
-        updateStatValue(statsPanel, 0, String.valueOf(enrolledCourses));
-        updateStatValue(statsPanel, 1, String.valueOf(pendingAssignments));
-        updateStatValue(statsPanel, 2, String.valueOf(newAnnouncements));
-        updateStatValue(statsPanel, 3, String.format("%.0f%%", avgProgress));
+        }, count -> updateStatValue(statsPanel, 2, String.valueOf(count)));
     }
 
     private void updateStatValue(JPanel panel, int index, String value) {
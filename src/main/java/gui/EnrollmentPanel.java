@@ -2,6 +2,7 @@ package gui;
 
 import dao.CourseDAO;
 import dao.EnrollmentDAO;
+import dao.PanelCache;
 import dao.StudentDAO;
 import model.Course;
 import model.Enrollment;
@@ -20,6 +21,8 @@ import java.util.List;
 public class EnrollmentPanel extends JPanel {
     private JTable enrollmentTable;
     private DefaultTableModel tableModel;
+    private JProgressBar progressBar;
+    private AsyncTableLoader loader;
     private EnrollmentDAO enrollmentDAO;
     private StudentDAO studentDAO;
     private CourseDAO courseDAO;
@@ -52,6 +55,8 @@ public class EnrollmentPanel extends JPanel {
         topPanel.add(editButton);
         topPanel.add(deleteButton);
         topPanel.add(refreshButton);
+        progressBar = AsyncTableLoader.createProgressBar();
+        topPanel.add(progressBar, 0);
         
         add(topPanel, BorderLayout.NORTH);
 
@@ -70,25 +75,21 @@ public class EnrollmentPanel extends JPanel {
         
         JScrollPane scrollPane = new JScrollPane(enrollmentTable);
         add(scrollPane, BorderLayout.CENTER);
+
+        loader = new AsyncTableLoader(tableModel, progressBar);
     }
 
     private void loadEnrollments() {
-        tableModel.setRowCount(0);
-        List<Enrollment> enrollments = enrollmentDAO.findAll();
         SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        
-        for (Enrollment enrollment : enrollments) {
-            Object[] row = {
-                enrollment.getEnrollmentId(),
-                enrollment.getStudentName(),
-                enrollment.getCourseName(),
-                enrollment.getEnrollmentDate() != null ? sdf.format(enrollment.getEnrollmentDate()) : "",
-                enrollment.getCompletionStatus(),
-                enrollment.getGrade() != null ? String.format("%.2f", enrollment.getGrade()) : "Chưa có",
-                enrollment.getPaymentStatus()
-            };
-            tableModel.addRow(row);
-        }
+        loader.stream(enrollmentDAO::forEach, enrollment -> new Object[] {
+            enrollment.getEnrollmentId(),
+            enrollment.getStudentName(),
+            enrollment.getCourseName(),
+            enrollment.getEnrollmentDate() != null ? sdf.format(enrollment.getEnrollmentDate()) : "",
+            enrollment.getCompletionStatus(),
+            enrollment.getGrade() != null ? String.format("%.2f", enrollment.getGrade()) : "Chưa có",
+            enrollment.getPaymentStatus()
+        });
     }
 
     private void addEnrollment() {
@@ -176,13 +177,9 @@ class EnrollmentDialog extends JDialog {
     private JTextField enrollmentDateField, gradeField;
     private JComboBox<String> statusCombo, paymentCombo;
     private boolean confirmed = false;
-    private StudentDAO studentDAO;
-    private CourseDAO courseDAO;
 
     public EnrollmentDialog(Frame parent, String title, Enrollment enrollment) {
         super(parent, title, true);
-        studentDAO = new StudentDAO();
-        courseDAO = new CourseDAO();
         
         setSize(450, 450);
         setLocationRelativeTo(parent);
@@ -265,14 +262,14 @@ class EnrollmentDialog extends JDialog {
     }
 
     private void loadStudents() {
-        List<Student> students = studentDAO.findAll();
+        List<Student> students = PanelCache.students();
         for (Student student : students) {
             studentCombo.addItem(student);
         }
     }
 
     private void loadCourses() {
-        List<Course> courses = courseDAO.findAll();
+        List<Course> courses = PanelCache.courses();
         for (Course course : courses) {
             courseCombo.addItem(course);
         }
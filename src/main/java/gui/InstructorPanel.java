@@ -1,6 +1,7 @@
 package gui;
 
 import dao.InstructorDAO;
+import dao.SearchDAO;
 import model.Instructor;
 
 import javax.swing.*;
@@ -15,10 +16,12 @@ public class InstructorPanel extends JPanel {
     private JTable instructorTable;
     private DefaultTableModel tableModel;
     private InstructorDAO instructorDAO;
+    private SearchDAO searchDAO;
     private JTextField searchField;
 
     public InstructorPanel() {
         instructorDAO = new InstructorDAO();
+        searchDAO = new SearchDAO();
         
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -103,7 +106,7 @@ public class InstructorPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        List<Instructor> instructors = instructorDAO.search(keyword);
+        List<Instructor> instructors = searchDAO.searchInstructors(keyword);
         
         for (Instructor instructor : instructors) {
             Object[] row = {
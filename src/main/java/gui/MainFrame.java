@@ -47,7 +47,7 @@ public class MainFrame extends JFrame {
         tabbedPane = new JTabbedPane();
         
         // Tạo các panel
-        dashboardPanel = new DashboardPanel();
+        dashboardPanel = new DashboardPanel(currentUser);
         coursePanel = new CoursePanel();
         assignmentPanel = new AssignmentPanel();
         announcementPanel = new AnnouncementPanel();
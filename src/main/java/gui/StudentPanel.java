@@ -1,5 +1,6 @@
 package gui;
 
+import dao.SearchDAO;
 import dao.StudentDAO;
 import model.Student;
 
@@ -17,10 +18,12 @@ public class StudentPanel extends JPanel {
     private JTable studentTable;
     private DefaultTableModel tableModel;
     private StudentDAO studentDAO;
+    private SearchDAO searchDAO;
     private JTextField searchField;
 
     public StudentPanel() {
         studentDAO = new StudentDAO();
+        searchDAO = new SearchDAO();
         
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -108,7 +111,7 @@ public class StudentPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        List<Student> students = studentDAO.search(keyword);
+        List<Student> students = searchDAO.searchStudents(keyword);
         SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
         
         for (Student student : students) {
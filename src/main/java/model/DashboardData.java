@@ -0,0 +1,85 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Dữ liệu tổng hợp cho Dashboard, nạp một lần cho cả panel
+ */
+public class DashboardData {
+    private List<CourseProgress> courses;
+    private List<Assignment> upcomingAssignments;
+    private List<Announcement> recentAnnouncements;
+    private double averageProgress;
+
+    public DashboardData(List<CourseProgress> courses, List<Assignment> upcomingAssignments,
+                         List<Announcement> recentAnnouncements, double averageProgress) {
+        this.courses = courses;
+        this.upcomingAssignments = upcomingAssignments;
+        this.recentAnnouncements = recentAnnouncements;
+        this.averageProgress = averageProgress;
+    }
+
+    // Getters
+    public List<CourseProgress> getCourses() {
+        return courses;
+    }
+
+    public List<Assignment> getUpcomingAssignments() {
+        return upcomingAssignments;
+    }
+
+    public List<Announcement> getRecentAnnouncements() {
+        return recentAnnouncements;
+    }
+
+    // Tiến độ trung bình = tỷ lệ đăng ký đã hoàn thành, tính bằng AVG trong database
+    public double getAverageProgress() {
+        return averageProgress;
+    }
+
+    /**
+     * Một dòng khóa học trên Dashboard: thông tin khóa học kèm trạng thái đăng ký
+     */
+    public static class CourseProgress {
+        private int courseId;
+        private String courseCode;
+        private String courseName;
+        private String instructorName;
+        private String completionStatus;
+        private Double grade;
+
+        public CourseProgress(int courseId, String courseCode, String courseName, String instructorName,
+                              String completionStatus, Double grade) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.instructorName = instructorName;
+            this.completionStatus = completionStatus;
+            this.grade = grade;
+        }
+
+        public int getCourseId() {
+            return courseId;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        public String getCourseName() {
+            return courseName;
+        }
+
+        public String getInstructorName() {
+            return instructorName;
+        }
+
+        public String getCompletionStatus() {
+            return completionStatus;
+        }
+
+        public Double getGrade() {
+            return grade;
+        }
+    }
+}
@@ -1,39 +1,146 @@
 package util;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 
 /**
- * Class hash password (MD5 đơn giản)
+ * Class hash password bằng PBKDF2-HMAC-SHA256 có salt.
+ * Định dạng {pbkdf2}vòng$hex(salt)$hex(hash) giống backend Spring nên hai ứng dụng
+ * dùng chung được bảng users; số vòng nằm trong hash nên mỗi bên tự đổi độ khó
+ * được mà không làm hỏng hash của bên kia. Hash MD5 và PBKDF2 dạng cũ
+ * hex(salt + hash) vẫn kiểm tra được và cần băm lại.
  */
 public class PasswordHasher {
+    private static final String PBKDF2_PREFIX = "{pbkdf2}";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_BITS = 256;
+    private static final int ITERATIONS = Integer.getInteger("password.pbkdf2.iterations", 310000);
+    // Số vòng của hash dạng cũ (chưa lưu số vòng)
+    private static final int LEGACY_ITERATIONS = 310000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     /**
-     * Hash password bằng MD5
+     * Hash password bằng PBKDF2 với salt ngẫu nhiên
      */
     public static String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] messageDigest = md.digest(password.getBytes());
-            
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : messageDigest) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, ITERATIONS);
+        return PBKDF2_PREFIX + ITERATIONS + "$" + toHex(salt) + "$" + toHex(hash);
+    }
+
+    /**
+     * Kiểm tra password có khớp không
+     */
+    public static boolean verifyPassword(String password, String hashedPassword) {
+        if (hashedPassword == null) {
+            return false;
+        }
+        if (hashedPassword.startsWith(PBKDF2_PREFIX)) {
+            String[] parts = hashedPassword.substring(PBKDF2_PREFIX.length()).split("\\$");
+            if (parts.length == 3) {
+                int iterations = parseIterations(parts[0]);
+                byte[] salt = fromHex(parts[1]);
+                byte[] expected = fromHex(parts[2]);
+                if (iterations <= 0 || salt.length == 0 || expected.length == 0) {
+                    return false;
                 }
-                hexString.append(hex);
+                return MessageDigest.isEqual(expected, pbkdf2(password, salt, iterations));
             }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error hashing password", e);
+            byte[] combined = fromHex(parts[0]);
+            if (combined.length <= SALT_LENGTH) {
+                return false;
+            }
+            byte[] salt = new byte[SALT_LENGTH];
+            System.arraycopy(combined, 0, salt, 0, SALT_LENGTH);
+            byte[] expected = new byte[combined.length - SALT_LENGTH];
+            System.arraycopy(combined, SALT_LENGTH, expected, 0, expected.length);
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, LEGACY_ITERATIONS));
+        }
+        if (hashedPassword.startsWith("{")) {
+            // Thuật toán khác (ví dụ bcrypt do backend tạo) không kiểm tra được ở desktop
+            return false;
         }
+        return MessageDigest.isEqual(
+                md5Hex(password).getBytes(StandardCharsets.US_ASCII),
+                hashedPassword.getBytes(StandardCharsets.US_ASCII));
     }
 
     /**
-     * Kiểm tra password có khớp không
+     * Hash MD5, PBKDF2 dạng cũ hoặc ít vòng hơn cấu hình cần được băm lại sau khi đăng nhập thành công.
+     * Hash thuật toán khác (bcrypt của backend) giữ nguyên.
      */
-    public static boolean verifyPassword(String password, String hashedPassword) {
-        return hashPassword(password).equals(hashedPassword);
+    public static boolean needsRehash(String hashedPassword) {
+        if (hashedPassword == null || !hashedPassword.startsWith("{")) {
+            return true;
+        }
+        if (!hashedPassword.startsWith(PBKDF2_PREFIX)) {
+            return false;
+        }
+        String[] parts = hashedPassword.substring(PBKDF2_PREFIX.length()).split("\\$");
+        return parts.length != 3 || parseIterations(parts[0]) < ITERATIONS;
+    }
+
+    private static int parseIterations(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
-}
 
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        try {
+            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+            try {
+                return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            } finally {
+                spec.clearPassword();
+            }
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error hashing password", e);
+        }
+    }
+
+    private static String md5Hex(String password) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            return toHex(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error hashing password", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : bytes) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return new byte[0];
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+}
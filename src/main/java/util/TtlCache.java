@@ -0,0 +1,82 @@
+package util;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Cache trong bộ nhớ với thời gian sống ngắn.
+ * Nhiều luồng cùng hỏi một key đã hết hạn chỉ kích hoạt một lần nạp,
+ * các luồng còn lại chờ và dùng chung kết quả.
+ */
+public class TtlCache<K, V> {
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public TtlCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Lấy giá trị trong cache, nạp bằng loader nếu chưa có hoặc đã hết hạn
+     */
+    public V get(K key, Callable<V> loader) throws Exception {
+        while (true) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                return await(key, entry);
+            }
+            Entry<V> fresh = new Entry<>(new FutureTask<>(loader), System.currentTimeMillis() + ttlMillis);
+            boolean owner = entry == null
+                    ? entries.putIfAbsent(key, fresh) == null
+                    : entries.replace(key, entry, fresh);
+            if (!owner) {
+                // Luồng khác vừa bắt đầu nạp, quay lại chờ kết quả của nó
+                continue;
+            }
+            fresh.task.run();
+            return await(key, fresh);
+        }
+    }
+
+    /**
+     * Xóa một key, lần get sau sẽ nạp lại
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private V await(K key, Entry<V> entry) throws Exception {
+        try {
+            return entry.task.get();
+        } catch (ExecutionException e) {
+            // Không giữ lỗi trong cache để lần sau được nạp lại
+            entries.remove(key, entry);
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry<V> {
+        private final FutureTask<V> task;
+        private final long expiresAt;
+
+        private Entry(FutureTask<V> task, long expiresAt) {
+            this.task = task;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}